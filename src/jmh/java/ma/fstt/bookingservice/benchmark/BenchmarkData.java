@@ -0,0 +1,92 @@
+package ma.fstt.bookingservice.benchmark;
+
+import ma.fstt.bookingservice.BookingServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the service on the H2 test profile and seeds a deterministic data set
+ * for the repository-backed benchmarks.
+ */
+final class BenchmarkData {
+
+    static final int TENANTS = 1_000;
+    static final int OWNERS = 200;
+    static final int PROPERTIES_PER_OWNER = 5;
+
+    private static final String[] STATUSES = {
+            "PENDING_PAYMENT", "PENDING_NEGOTIATION", "NEGOTIATION_REJECTED", "CONFIRMED",
+            "TENANT_CHECKED_OUT", "COMPLETED", "CANCELLED_BY_TENANT"
+    };
+    private static final int BATCH_SIZE = 5_000;
+
+    private BenchmarkData() {
+    }
+
+    static ConfigurableApplicationContext start(String... overrides) {
+        List<String> args = new ArrayList<>(List.of("--spring.jpa.show-sql=false", "--logging.level.root=WARN"));
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(BookingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Command-line arguments, so they win over application(-test).properties
+                .run(args.toArray(String[]::new));
+    }
+
+    static String propertyId(int index) {
+        return "bench-property-" + index;
+    }
+
+    /**
+     * Owner n (1-based) owns properties [(n-1)*5, n*5). Bookings are spread
+     * uniformly over tenants and properties, with stays around today.
+     */
+    static void seed(JdbcTemplate jdbc, int bookings) {
+        List<Object[]> properties = new ArrayList<>();
+        for (int i = 0; i < OWNERS * PROPERTIES_PER_OWNER; i++) {
+            properties.add(new Object[] { propertyId(i), (long) (i / PROPERTIES_PER_OWNER + 1), 100.0 });
+        }
+        jdbc.batchUpdate("INSERT INTO properties (id, user_id, price) VALUES (?, ?, ?)", properties);
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < bookings; i++) {
+            LocalDate checkIn = today.plusDays(random.nextInt(730) - 365);
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(20));
+            batch.add(new Object[] {
+                    (long) (random.nextInt(TENANTS) + 1),
+                    propertyId(random.nextInt(OWNERS * PROPERTIES_PER_OWNER)),
+                    Date.valueOf(checkIn), Date.valueOf(checkOut),
+                    100.0 * (checkOut.toEpochDay() - checkIn.toEpochDay()),
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    now, now
+            });
+            if (batch.size() == BATCH_SIZE) {
+                insertBookings(jdbc, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBookings(jdbc, batch);
+        }
+    }
+
+    private static void insertBookings(JdbcTemplate jdbc, List<Object[]> batch) {
+        // Booking ids come from bookings_id_seq; the Hibernate-generated H2 table has no id default
+        jdbc.batchUpdate("INSERT INTO bookings (id, user_id, property_id, check_in_date, check_out_date, "
+                + "total_price, status, created_at, updated_at, version) "
+                + "VALUES (NEXT VALUE FOR bookings_id_seq, ?, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+    }
+}
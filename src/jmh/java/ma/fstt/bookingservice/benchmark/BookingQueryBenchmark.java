@@ -0,0 +1,91 @@
+package ma.fstt.bookingservice.benchmark;
+
+import ma.fstt.bookingservice.core.service.BookingService;
+import ma.fstt.bookingservice.domain.entity.Booking;
+import ma.fstt.bookingservice.domain.repository.BookingRepository;
+import ma.fstt.bookingservice.domain.repository.BookingSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing and overlap queries against H2 at increasing table sizes. Each size
+ * runs in its own fork so the database is seeded fresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BookingQueryBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    int bookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private BookingRepository bookingRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start();
+        BenchmarkData.seed(context.getBean(JdbcTemplate.class), bookings);
+        bookingService = context.getBean(BookingService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Slice<BookingSummary> tenantListing() {
+        long tenantId = ThreadLocalRandom.current().nextInt(BenchmarkData.TENANTS) + 1;
+        return bookingService.getBookingsByUserId(tenantId, 0, BookingService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Slice<BookingSummary> ownerListing() {
+        long ownerId = ThreadLocalRandom.current().nextInt(BenchmarkData.OWNERS) + 1;
+        return bookingService.getBookingsByOwnerId(ownerId, 0, BookingService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Slice<BookingSummary> currentOwnerListing() {
+        long ownerId = ThreadLocalRandom.current().nextInt(BenchmarkData.OWNERS) + 1;
+        return bookingService.getCurrentBookingsByOwnerId(ownerId, 0, BookingService.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * The read half of cancelOverlappingBookings: overlap query for a two-week
+     * stay plus the in-memory skip of completed bookings.
+     */
+    @Benchmark
+    public long overlapFilter() {
+        int property = ThreadLocalRandom.current().nextInt(BenchmarkData.OWNERS * BenchmarkData.PROPERTIES_PER_OWNER);
+        LocalDate checkIn = LocalDate.now().plusDays(ThreadLocalRandom.current().nextInt(60));
+        List<Booking> overlapping = bookingRepository.findOverlappingBookings(
+                BenchmarkData.propertyId(property), -1L, checkIn, checkIn.plusDays(14));
+        return overlapping.stream().filter(b -> !"COMPLETED".equals(b.getStatus())).count();
+    }
+}
@@ -0,0 +1,105 @@
+package ma.fstt.bookingservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import ma.fstt.bookingservice.api.dto.BookingResponseDTO;
+import ma.fstt.bookingservice.domain.entity.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of one default page of the booking listing: the record DTOs the
+ * controller returns now against the per-booking HashMap it used to build, with
+ * and without the Blackbird module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonMappingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({ "false", "true" })
+    boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private List<Booking> bookings;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+        bookings = new ArrayList<>(PAGE_SIZE);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            bookings.add(Booking.builder()
+                    .id((long) i)
+                    .userId(42L)
+                    .propertyId(BenchmarkData.propertyId(i))
+                    .checkInDate(today.plusDays(i))
+                    .checkOutDate(today.plusDays(i + 7))
+                    .totalPrice(700.0)
+                    .status("PENDING_NEGOTIATION")
+                    .longStayDiscountPercent(10)
+                    .requestedNegotiationPercent(5)
+                    .negotiationExpiresAt(Instant.now())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] records() throws Exception {
+        List<BookingResponseDTO> page = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            page.add(BookingResponseDTO.from(booking));
+        }
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] maps() throws Exception {
+        List<Map<String, Object>> page = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("id", booking.getId());
+            map.put("userId", booking.getUserId());
+            map.put("propertyId", booking.getPropertyId());
+            map.put("checkInDate", booking.getCheckInDate());
+            map.put("checkOutDate", booking.getCheckOutDate());
+            map.put("totalPrice", booking.getTotalPrice());
+            map.put("status", booking.getStatus());
+            map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
+            map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
+            map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
+            map.put("onChainTxHash", booking.getOnChainTxHash());
+            page.add(map);
+        }
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
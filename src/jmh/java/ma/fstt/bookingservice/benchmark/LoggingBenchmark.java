@@ -0,0 +1,153 @@
+package ma.fstt.bookingservice.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ma.fstt.bookingservice.core.service.BookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Logging cost of one cancelOverlappingBookings pass, with the old per-row INFO
+ * lines against the sampled DEBUG rows plus one structured summary, each behind
+ * a synchronous file appender and behind the bounded AsyncAppender from
+ * logback-spring.xml. Several threads log at once, as request and listener
+ * threads do in the service.
+ *
+ * The async appender never blocks, so once its queue fills it drops INFO
+ * events; its numbers are the caller's cost, not a count of lines written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({ "sync", "async" })
+    String appender;
+
+    /** Overlapping bookings removed in one pass. */
+    @Param({ "20", "200" })
+    int rows;
+
+    private LoggerContext context;
+    private Logger log;
+    private Path file;
+    private List<Row> overlapping;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> target = fileAppender;
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender);
+            async.start();
+            target = async;
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(target);
+        log = context.getLogger(BookingService.class);
+
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        overlapping = IntStream.range(0, rows)
+                .mapToObj(i -> new Row((long) i, "PENDING_PAYMENT", checkIn, checkIn.plusDays(3), 1000L + i))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    /** The logging cancelOverlappingBookings did before: every row at INFO, twice. */
+    @Benchmark
+    public void perRowInfo() {
+        log.info("🚀 cancelOverlappingBookings called for bookingId={}", 0L);
+        for (Row row : overlapping) {
+            log.info("   - Overlapping Booking {}: status={}, checkIn={}, checkOut={}, userId={}",
+                    row.id(), row.status(), row.checkIn(), row.checkOut(), row.userId());
+        }
+        for (Row row : overlapping) {
+            log.info("DELETED overlapping booking from database: bookingId={}, previousStatus={}, " +
+                    "checkIn={}, checkOut={} (overlapped with confirmed booking {})",
+                    row.id(), row.status(), row.checkIn(), row.checkOut(), 0L);
+        }
+        log.info("Deletion summary: {} deleted, {} skipped, {} total overlapping bookings for confirmed booking {}",
+                overlapping.size(), 0, overlapping.size(), 0L);
+    }
+
+    /** The logging it does now: sampled DEBUG rows (off at INFO) and one structured summary. */
+    @Benchmark
+    public void sampledDebug() {
+        long seen = 0;
+        for (Row row : overlapping) {
+            // Same rule as LogSampler(10, 100)
+            long n = seen++;
+            if (log.isDebugEnabled() && (n < 10 || (n - 10) % 100 == 99)) {
+                log.debug("Deleted overlapping booking {}: previousStatus={}, checkIn={}, checkOut={}",
+                        row.id(), row.status(), row.checkIn(), row.checkOut());
+            }
+        }
+        log.atInfo()
+                .addKeyValue("bookingId", 0L)
+                .addKeyValue("propertyId", "property-0")
+                .addKeyValue("deleted", overlapping.size())
+                .addKeyValue("skipped", 0)
+                .log("Deleted {} booking(s) overlapping confirmed booking {}, skipped {} completed",
+                        overlapping.size(), 0L, 0);
+    }
+
+    record Row(Long id, String status, LocalDate checkIn, LocalDate checkOut, Long userId) {
+    }
+}
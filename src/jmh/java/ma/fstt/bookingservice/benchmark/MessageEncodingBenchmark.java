@@ -0,0 +1,114 @@
+package ma.fstt.bookingservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import ma.fstt.bookingservice.api.dto.BookingRequest;
+import ma.fstt.bookingservice.config.Jackson2CborMessageConverter;
+import ma.fstt.bookingservice.core.messaging.BookingCreatedMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJackson2MessageConverter;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of the two high-volume payloads, JSON against CBOR, through the
+ * converters the RabbitTemplate and listeners use. {@code request} is the
+ * publish-and-consume round trip of a booking request; {@code created} the
+ * publish of booking.created, also as the HashMap it used to be built as.
+ *
+ * Bytes on the wire are printed once per fork, at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageEncodingBenchmark {
+
+    @Param({ "json", "cbor" })
+    String encoding;
+
+    private AbstractJackson2MessageConverter converter;
+    private String contentType;
+    private BookingRequest request;
+    private BookingCreatedMessage created;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (encoding.equals("cbor")) {
+            converter = new Jackson2CborMessageConverter(objectMapper, "*");
+            contentType = Jackson2CborMessageConverter.CONTENT_TYPE.toString();
+        } else {
+            converter = new Jackson2JsonMessageConverter(objectMapper);
+            contentType = MessageProperties.CONTENT_TYPE_JSON;
+        }
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        request = new BookingRequest();
+        request.setUserId(4242L);
+        request.setPropertyId(BenchmarkData.propertyId(7));
+        request.setCheckInDate(checkIn.toString());
+        request.setCheckOutDate(checkIn.plusDays(6).toString());
+        request.setNumberOfGuests(3);
+        request.setRequestedPrice(new BigDecimal("1180.50"));
+        created = new BookingCreatedMessage(982_113L, 4242L, BenchmarkData.propertyId(7), new BigDecimal("1250.00"),
+                "PENDING_NEGOTIATION", 1717L, new BigDecimal("500.00"));
+        System.out.printf("%n%s bytes on the wire: booking request %d, booking.created %d%n", encoding,
+                converter.toMessage(request, properties()).getBody().length,
+                converter.toMessage(created, properties()).getBody().length);
+    }
+
+    @Benchmark
+    public Object request() {
+        Message message = converter.toMessage(request, properties());
+        message.getMessageProperties().setInferredArgumentType(BookingRequest.class);
+        return converter.fromMessage(message);
+    }
+
+    @Benchmark
+    public Message created() {
+        return converter.toMessage(created, properties());
+    }
+
+    @Benchmark
+    public Message createdAsMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("bookingId", created.bookingId());
+        map.put("tenantId", created.tenantId());
+        map.put("propertyId", created.propertyId());
+        map.put("finalRentAmount", created.finalRentAmount());
+        map.put("status", created.status());
+        map.put("ownerId", null);
+        map.put("depositAmount", null);
+        return converter.toMessage(map, properties());
+    }
+
+    private MessageProperties properties() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(contentType);
+        return properties;
+    }
+}
@@ -0,0 +1,60 @@
+package ma.fstt.bookingservice.benchmark;
+
+import ma.fstt.bookingservice.core.service.BookingPricing;
+import ma.fstt.bookingservice.core.service.BookingPricing.PriceQuote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rent and negotiation math run by createBooking, validateRequestedPrice and
+ * updateBooking, without the property-service round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({ "3", "20", "45" })
+    int nights;
+
+    /** Negotiation percentage set by the property; 0 falls back to the 80% floor. */
+    @Param({ "0", "15" })
+    double negotiationPercentage;
+
+    private BigDecimal pricePerNight;
+    private BigDecimal requestedPrice;
+
+    @Setup
+    public void setUp() {
+        pricePerNight = new BigDecimal("129.90");
+        PriceQuote quote = BookingPricing.quote(pricePerNight, nights, true, negotiationPercentage);
+        // Just inside the negotiable band, so every branch of the accept path runs
+        requestedPrice = quote.minPrice().add(BigDecimal.ONE);
+    }
+
+    @Benchmark
+    public PriceQuote quote() {
+        return BookingPricing.quote(pricePerNight, nights, true, negotiationPercentage);
+    }
+
+    @Benchmark
+    public int quoteAndNegotiate() {
+        PriceQuote quote = BookingPricing.quote(pricePerNight, nights, true, negotiationPercentage);
+        return quote.accepts(requestedPrice) ? quote.negotiationPercent(requestedPrice) : -1;
+    }
+}
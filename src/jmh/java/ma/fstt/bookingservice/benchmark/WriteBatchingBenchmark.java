@@ -0,0 +1,143 @@
+package ma.fstt.bookingservice.benchmark;
+
+import ma.fstt.bookingservice.domain.entity.Booking;
+import ma.fstt.bookingservice.domain.repository.BookingRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk writes of {@value #ROWS} bookings in one transaction, with and without
+ * the JDBC batching settings of the perf profile. {@code cancel} and
+ * {@code delete} mirror the flush of a large overlap cleanup.
+ *
+ * Runs on H2, where a statement costs no network round trip; against Postgres
+ * the gap is wider. The second-level cache is off so the cache invalidation
+ * broadcast (and its failing broker connection) stays out of the numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WriteBatchingBenchmark {
+
+    static final int ROWS = 200;
+
+    private static final String[] NO_CACHE = {
+            "--spring.jpa.properties.jakarta.persistence.sharedCache.mode=NONE",
+            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+            "--spring.jpa.properties.hibernate.cache.use_query_cache=false"
+    };
+    private static final String[] BATCHING = {
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+            "--spring.jpa.properties.hibernate.order_inserts=true",
+            "--spring.jpa.properties.hibernate.order_updates=true",
+            "--spring.jpa.properties.hibernate.jdbc.batch_versioned_data=true"
+    };
+
+    @Param({ "false", "true" })
+    boolean batched;
+
+    private ConfigurableApplicationContext context;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate transactions;
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of(NO_CACHE));
+        if (batched) {
+            args.addAll(List.of(BATCHING));
+        }
+        context = BenchmarkData.start(args.toArray(String[]::new));
+        bookingRepository = context.getBean(BookingRepository.class);
+        transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbc = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbc.update("DELETE FROM bookings");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * A fresh set of persisted bookings for every invocation of the update and
+     * delete benchmarks.
+     */
+    @State(Scope.Thread)
+    public static class Persisted {
+
+        List<Long> ids;
+
+        @Setup(Level.Invocation)
+        public void insert(WriteBatchingBenchmark benchmark) {
+            ids = benchmark.transactions.execute(status -> benchmark.bookingRepository.saveAll(newBookings())
+                    .stream().map(Booking::getId).toList());
+        }
+    }
+
+    @Benchmark
+    public int insert() {
+        return transactions.execute(status -> bookingRepository.saveAll(newBookings()).size());
+    }
+
+    @Benchmark
+    public int cancel(Persisted persisted) {
+        return transactions.execute(status -> {
+            List<Booking> bookings = bookingRepository.findAllById(persisted.ids);
+            bookings.forEach(booking -> booking.setStatus("CANCELLED_BY_HOST"));
+            return bookings.size();
+        });
+    }
+
+    @Benchmark
+    public int delete(Persisted persisted) {
+        return transactions.execute(status -> {
+            List<Booking> bookings = bookingRepository.findAllById(persisted.ids);
+            bookingRepository.deleteAll(bookings);
+            return bookings.size();
+        });
+    }
+
+    private static List<Booking> newBookings() {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        List<Booking> bookings = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            bookings.add(Booking.builder()
+                    .userId((long) (i % BenchmarkData.TENANTS) + 1)
+                    .propertyId(BenchmarkData.propertyId(i % BenchmarkData.PROPERTIES_PER_OWNER))
+                    .checkInDate(checkIn)
+                    .checkOutDate(checkIn.plusDays(5))
+                    .totalPrice(500.0)
+                    .status("PENDING_PAYMENT")
+                    .build());
+        }
+        return bookings;
+    }
+}
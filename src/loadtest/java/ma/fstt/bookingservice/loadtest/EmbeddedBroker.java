@@ -0,0 +1,46 @@
+package ma.fstt.bookingservice.loadtest;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process Qpid Broker-J speaking AMQP 0-9-1, standing in for RabbitMQ. Uses
+ * an in-memory store, so nothing survives a run.
+ */
+final class EmbeddedBroker implements AutoCloseable {
+
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final int port;
+
+    EmbeddedBroker(int port) {
+        this.port = port;
+    }
+
+    EmbeddedBroker start() throws Exception {
+        Path workDir = Files.createTempDirectory("loadtest-broker");
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+                EmbeddedBroker.class.getResource("/loadtest-broker.json").toExternalForm());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(SystemConfig.CONTEXT, Map.of(
+                "qpid.amqp_port", String.valueOf(port),
+                "qpid.work_dir", workDir.toString()));
+        launcher.startup(attributes);
+        return this;
+    }
+
+    int port() {
+        return port;
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+}
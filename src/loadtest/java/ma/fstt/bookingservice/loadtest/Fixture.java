@@ -0,0 +1,89 @@
+package ma.fstt.bookingservice.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the properties and bookings the load mix works against.
+ *
+ * Seeded bookings never overlap on a property (five-night stays on a seven-day
+ * stride), and requests created during the run are booked more than a year
+ * out, so confirming a seeded booking never deletes rows the mix still uses.
+ */
+final class Fixture {
+
+    static final int PROPERTIES_PER_OWNER = 5;
+
+    private final LoadSettings settings;
+    private final long[] bookingIds;
+    private final long[] bookingTenants;
+
+    private Fixture(LoadSettings settings, long[] bookingIds, long[] bookingTenants) {
+        this.settings = settings;
+        this.bookingIds = bookingIds;
+        this.bookingTenants = bookingTenants;
+    }
+
+    static Fixture seed(JdbcTemplate jdbc, LoadSettings settings) {
+        List<Object[]> properties = new ArrayList<>();
+        for (int i = 0; i < settings.properties(); i++) {
+            properties.add(new Object[] { propertyId(i), ownerOf(i), 100.0 });
+        }
+        jdbc.batchUpdate("INSERT INTO properties (id, user_id, price) VALUES (?, ?, ?)", properties);
+
+        LocalDate base = LocalDate.now().minusDays(60);
+        Timestamp now = Timestamp.from(Instant.now());
+        long[] tenants = new long[settings.seededBookings()];
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < settings.seededBookings(); i++) {
+            int property = i % settings.properties();
+            LocalDate checkIn = base.plusDays(7L * (i / settings.properties()));
+            tenants[i] = tenantOf(i, settings);
+            bookings.add(new Object[] { tenants[i], propertyId(property), Date.valueOf(checkIn),
+                    Date.valueOf(checkIn.plusDays(5)), 500.0, now, now });
+        }
+        jdbc.batchUpdate("INSERT INTO bookings (id, user_id, property_id, check_in_date, check_out_date, "
+                + "total_price, status, created_at, updated_at, version) "
+                + "VALUES (NEXT VALUE FOR bookings_id_seq, ?, ?, ?, ?, ?, 'PENDING_PAYMENT', ?, ?, 0)",
+                bookings);
+
+        long[] ids = jdbc.queryForList("SELECT id FROM bookings ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        return new Fixture(settings, ids, tenants);
+    }
+
+    static String propertyId(int index) {
+        return "load-property-" + index;
+    }
+
+    /** Tenant ids start after the owner ids so the two roles never collide. */
+    static long tenantOf(int index, LoadSettings settings) {
+        return settings.owners() + 1L + (index % settings.tenants());
+    }
+
+    private static long ownerOf(int propertyIndex) {
+        return propertyIndex / PROPERTIES_PER_OWNER + 1L;
+    }
+
+    int seededBookings() {
+        return bookingIds.length;
+    }
+
+    long bookingId(int index) {
+        return bookingIds[index];
+    }
+
+    long bookingTenant(int index) {
+        return bookingTenants[index];
+    }
+
+    LoadSettings settings() {
+        return settings;
+    }
+}
@@ -0,0 +1,170 @@
+package ma.fstt.bookingservice.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator: each worker picks an operation by weight, sends
+ * it and records the latency, until the deadline.
+ */
+final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(120);
+
+    private final URI baseUri;
+    private final Fixture fixture;
+    private final LoadSettings settings;
+    private final HttpClient client;
+    private final Operation[] weighted;
+
+    private final Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong acceptedRequests = new AtomicLong();
+    private final Map<String, String> etags = new ConcurrentHashMap<>();
+
+    LoadDriver(URI baseUri, Fixture fixture) {
+        this.baseUri = baseUri;
+        this.fixture = fixture;
+        this.settings = fixture.settings();
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Math.max(4, settings.concurrency() / 4)))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.weighted = settings.mix().entrySet().stream()
+                .flatMap(e -> java.util.stream.Stream.generate(e::getKey).limit(e.getValue()))
+                .toArray(Operation[]::new);
+        for (Operation op : Operation.values()) {
+            latencies.put(op, new Recorder(3));
+            errors.put(op, new AtomicLong());
+        }
+    }
+
+    /**
+     * Drives the mix for the given time and returns the latency histograms
+     * (microseconds) recorded during that window only.
+     */
+    Map<Operation, Histogram> run(Duration duration) throws InterruptedException {
+        reset();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    send(weighted[ThreadLocalRandom.current().nextInt(weighted.length)]);
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        latencies.forEach((op, recorder) -> histograms.put(op, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    long errors(Operation op) {
+        return errors.get(op).get();
+    }
+
+    long acceptedRequests() {
+        return acceptedRequests.get();
+    }
+
+    private void reset() {
+        latencies.values().forEach(Recorder::reset);
+        errors.values().forEach(counter -> counter.set(0));
+        acceptedRequests.set(0);
+    }
+
+    private void send(Operation op) {
+        HttpRequest request = build(op);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies.get(op).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            int status = response.statusCode();
+            if (status >= 400) {
+                errors.get(op).incrementAndGet();
+            } else if (op == Operation.REQUEST) {
+                acceptedRequests.incrementAndGet();
+            }
+            response.headers().firstValue("ETag").ifPresent(etag -> etags.put(request.uri().toString(), etag));
+        } catch (Exception e) {
+            errors.get(op).incrementAndGet();
+        }
+    }
+
+    private HttpRequest build(Operation op) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (op) {
+            case REQUEST -> {
+                long tenant = Fixture.tenantOf(random.nextInt(settings.tenants()), settings);
+                int nights = 2 + random.nextInt(19);
+                LocalDate checkIn = LocalDate.now().plusDays(400 + random.nextInt(300));
+                // Half the requests offer 80 a night, inside the stubbed 20% band for any stay length
+                String requestedPrice = random.nextBoolean() ? String.valueOf(80 * nights) : "null";
+                String body = """
+                        {"propertyId": "%s", "checkInDate": "%s", "checkOutDate": "%s",
+                         "numberOfGuests": 2, "requestedPrice": %s}
+                        """.formatted(Fixture.propertyId(random.nextInt(settings.properties())), checkIn,
+                        checkIn.plusDays(nights), requestedPrice);
+                yield request("/api/bookings/request", tenant, null)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+            case TENANT_POLL -> {
+                long tenant = Fixture.tenantOf(random.nextInt(settings.tenants()), settings);
+                yield poll("/api/bookings?tenantId=" + tenant, tenant);
+            }
+            case OWNER_POLL -> {
+                long owner = 1 + random.nextInt(settings.owners());
+                yield poll("/api/bookings?ownerId=" + owner, owner);
+            }
+            case STATUS -> {
+                int index = random.nextInt(fixture.seededBookings());
+                String status = random.nextBoolean() ? "CONFIRMED" : "PENDING_PAYMENT";
+                yield request("/api/bookings/" + fixture.bookingId(index) + "/status", fixture.bookingTenant(index),
+                        null)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"status\": \"" + status + "\"}"))
+                        .build();
+            }
+            case ADMIN -> request("/api/bookings/admin/all", 1, "ADMIN").GET().build();
+        };
+    }
+
+    private HttpRequest poll(String path, long userId) {
+        HttpRequest.Builder builder = request(path, userId, null).GET();
+        String etag = etags.get(baseUri.resolve(path).toString());
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest.Builder request(String path, long userId, String roles) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("X-User-Id", String.valueOf(userId));
+        if (roles != null) {
+            builder.header("X-User-Roles", roles);
+        }
+        return builder;
+    }
+}
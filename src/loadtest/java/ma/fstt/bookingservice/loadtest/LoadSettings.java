@@ -0,0 +1,58 @@
+package ma.fstt.bookingservice.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from {@code -Dloadtest.*} system properties.
+ *
+ * @param mix relative weight of each operation, e.g.
+ *            {@code -Dloadtest.mix=request:30,tenant-poll:40,owner-poll:15,status:10,admin:1}
+ * @param virtualThreads runs the service with {@code spring.threads.virtual.enabled}; compare two runs
+ *            with {@code -Dloadtest.virtual-threads=false|true}
+ * @param tomcatThreads caps Tomcat's platform worker pool ({@code server.tomcat.threads.max}), 0 keeps
+ *            the default of 200; a low cap with a high stub latency reproduces pool exhaustion
+ */
+record LoadSettings(
+        int concurrency,
+        int warmupSeconds,
+        int durationSeconds,
+        double stubLatencyMs,
+        int tenants,
+        int owners,
+        int seededBookings,
+        Map<Operation, Integer> mix,
+        boolean virtualThreads,
+        int tomcatThreads,
+        String output) {
+
+    static final String DEFAULT_MIX = "request:30,tenant-poll:40,owner-poll:15,status:10,admin:1";
+
+    static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                Integer.getInteger("loadtest.concurrency", 32),
+                Integer.getInteger("loadtest.warmup", 15),
+                Integer.getInteger("loadtest.duration", 60),
+                Double.parseDouble(System.getProperty("loadtest.stub-latency-ms", "20")),
+                Integer.getInteger("loadtest.tenants", 500),
+                Integer.getInteger("loadtest.owners", 50),
+                Integer.getInteger("loadtest.seeded-bookings", 200),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Boolean.getBoolean("loadtest.virtual-threads"),
+                Integer.getInteger("loadtest.tomcat-threads", 0),
+                System.getProperty("loadtest.output", "target/load-test-result.json"));
+    }
+
+    int properties() {
+        return owners * Fixture.PROPERTIES_PER_OWNER;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
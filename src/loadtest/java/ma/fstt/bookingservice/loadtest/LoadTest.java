@@ -0,0 +1,189 @@
+package ma.fstt.bookingservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ma.fstt.bookingservice.BookingServiceApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test. Boots the service on H2 against an embedded AMQP broker
+ * and stubbed property/user services, drives the weighted request mix from
+ * {@link LoadSettings}, and reports per-operation p50/p99 latency plus how many
+ * booking requests per second made it through the queue to booking.created.
+ */
+public final class LoadTest {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        try (EmbeddedBroker broker = new EmbeddedBroker(freePort()).start();
+                ServiceStubs stubs = new ServiceStubs(Math.max(16, settings.concurrency()) + 16).start(
+                        settings.stubLatencyMs());
+                ConfigurableApplicationContext service = startService(settings, broker, stubs)) {
+
+            int port = ((WebServerApplicationContext) service).getWebServer().getPort();
+            Fixture fixture = Fixture.seed(service.getBean(JdbcTemplate.class), settings);
+            LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port), fixture);
+            AmqpAdmin amqpAdmin = service.getBean(AmqpAdmin.class);
+
+            log("warming up for %ds with %d workers (%s threads)", settings.warmupSeconds(), settings.concurrency(),
+                    settings.virtualThreads() ? "virtual" : "platform");
+            driver.run(Duration.ofSeconds(settings.warmupSeconds()));
+            awaitDrained(amqpAdmin);
+
+            long createdBefore = messageCount(amqpAdmin, "booking.created");
+            log("measuring for %ds", settings.durationSeconds());
+            long start = System.nanoTime();
+            Map<Operation, Histogram> histograms = driver.run(Duration.ofSeconds(settings.durationSeconds()));
+            long backlog = messageCount(amqpAdmin, "booking");
+            awaitDrained(amqpAdmin);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            long created = messageCount(amqpAdmin, "booking.created") - createdBefore;
+
+            report(settings, driver, histograms, created, elapsedSeconds, backlog);
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startService(LoadSettings settings, EmbeddedBroker broker,
+            ServiceStubs stubs) {
+        // devtools is on the classpath; its restart classloader only adds noise here
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Passed as command-line arguments so they win over application(-test).properties
+        return new SpringApplicationBuilder(BookingServiceApplication.class)
+                .profiles("test")
+                .initializers(LoadTest::useTransientQueues)
+                .run(serviceArguments(settings, broker, stubs));
+    }
+
+    private static String[] serviceArguments(LoadSettings settings, EmbeddedBroker broker, ServiceStubs stubs) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.rabbitmq.host=localhost",
+                "--spring.rabbitmq.port=" + broker.port(),
+                "--spring.rabbitmq.listener.simple.auto-startup=true",
+                "--property.service.url=" + stubs.baseUrl(),
+                "--user.service.url=" + stubs.baseUrl(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + settings.virtualThreads()));
+        if (settings.tomcatThreads() > 0) {
+            arguments.add("--server.tomcat.threads.max=" + settings.tomcatThreads());
+        }
+        // -Dloadtest.otlp-endpoint=http://localhost:4318/v1/traces traces every request of the run
+        String otlpEndpoint = System.getProperty("loadtest.otlp-endpoint");
+        if (otlpEndpoint != null) {
+            arguments.add("--management.tracing.enabled=true");
+            arguments.add("--management.tracing.sampling.probability=1.0");
+            arguments.add("--management.otlp.tracing.endpoint=" + otlpEndpoint);
+        }
+        return arguments.toArray(String[]::new);
+    }
+
+    /**
+     * Broker-J deletes exclusive queues with the channel that declared them, before
+     * the listener attaches. The per-replica fan-out queues are swapped for plain
+     * transient ones; the in-memory broker goes away with the run anyway.
+     */
+    private static void useTransientQueues(ConfigurableApplicationContext context) {
+        context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof AnonymousQueue queue ? new Queue(queue.getName(), false, false, false) : bean;
+            }
+        });
+    }
+
+    private static void awaitDrained(AmqpAdmin amqpAdmin) throws InterruptedException {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (messageCount(amqpAdmin, "booking") > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static long messageCount(AmqpAdmin amqpAdmin, String queue) {
+        QueueInformation info = amqpAdmin.getQueueInfo(queue);
+        return info != null ? info.getMessageCount() : 0;
+    }
+
+    private static void report(LoadSettings settings, LoadDriver driver, Map<Operation, Histogram> histograms,
+            long created, double elapsedSeconds, long backlog) throws Exception {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        System.out.printf("%n%-12s %9s %7s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Operation op : Operation.values()) {
+            Histogram histogram = histograms.get(op);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            double p50 = histogram.getValueAtPercentile(50) / 1000.0;
+            double p99 = histogram.getValueAtPercentile(99) / 1000.0;
+            double max = histogram.getMaxValue() / 1000.0;
+            double rate = count / (double) settings.durationSeconds();
+            System.out.printf("%-12s %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                    op.key(), count, driver.errors(op), rate, p50, p99, max);
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", count);
+            stats.put("errors", driver.errors(op));
+            stats.put("requestsPerSecond", rate);
+            stats.put("p50Ms", p50);
+            stats.put("p99Ms", p99);
+            stats.put("maxMs", max);
+            operations.put(op.key(), stats);
+        }
+
+        double messagesPerSecond = created / elapsedSeconds;
+        System.out.printf("%nbooking requests accepted: %d, booking.created published: %d (%.1f msg/s), "
+                + "queue backlog at end of window: %d%n", driver.acceptedRequests(), created, messagesPerSecond,
+                backlog);
+
+        Map<String, Object> messages = new LinkedHashMap<>();
+        messages.put("accepted", driver.acceptedRequests());
+        messages.put("created", created);
+        messages.put("perSecond", messagesPerSecond);
+        messages.put("backlogAtEndOfWindow", backlog);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("settings", settings);
+        result.put("operations", operations);
+        result.put("messages", messages);
+        File output = new File(settings.output());
+        output.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, result);
+        log("results written to %s", output);
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[load-test] " + format + "%n", args);
+    }
+}
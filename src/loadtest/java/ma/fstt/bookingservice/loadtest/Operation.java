@@ -0,0 +1,37 @@
+package ma.fstt.bookingservice.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The request types in the load mix.
+ */
+enum Operation {
+
+    /** POST /api/bookings/request, half of them with a negotiated price. */
+    REQUEST("request"),
+    /** Tenant list poll, replaying the last ETag like the frontend does. */
+    TENANT_POLL("tenant-poll"),
+    /** Owner list poll, replaying the last ETag. */
+    OWNER_POLL("owner-poll"),
+    /** PUT /api/bookings/{id}/status toggling a seeded booking between payment states. */
+    STATUS("status"),
+    /** GET /api/bookings/admin/all with its per-booking enrichment calls. */
+    ADMIN("admin");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(op -> op.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown load test operation: " + key));
+    }
+}
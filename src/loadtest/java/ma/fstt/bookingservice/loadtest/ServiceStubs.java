@@ -0,0 +1,64 @@
+package ma.fstt.bookingservice.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * WireMock stand-ins for the property-service and user-service endpoints the
+ * booking service calls. Every response is delayed by a log-normal latency
+ * around the configured median, which is closer to a real downstream than a
+ * fixed delay.
+ */
+final class ServiceStubs implements AutoCloseable {
+
+    private static final double LATENCY_SIGMA = 0.25;
+
+    private final WireMockServer server;
+
+    ServiceStubs(int containerThreads) {
+        server = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .containerThreads(containerThreads)
+                .disableRequestJournal());
+    }
+
+    ServiceStubs start(double medianLatencyMs) {
+        server.start();
+        server.stubFor(get(urlPathMatching("/api/v1/properties/[^/]+/booking-info"))
+                .willReturn(json("""
+                        {"id": "stub", "ownerId": 1, "pricePerNight": 100.00, "isNegotiable": true,
+                         "discountEnabled": true, "maxNegotiationPercent": 20, "negotiationPercentage": 20}
+                        """, medianLatencyMs)));
+        server.stubFor(get(urlPathMatching("/api/v1/properties/[^/]+"))
+                .willReturn(json("""
+                        {"title": "Load test apartment", "address": {"address": "1 Test Street", "city": "Tangier"}}
+                        """, medianLatencyMs)));
+        server.stubFor(get(urlPathMatching("/api/v1/users/[0-9]+"))
+                .willReturn(json("""
+                        {"firstName": "Load", "lastName": "Tester", "email": "load.tester@example.com"}
+                        """, medianLatencyMs)));
+        return this;
+    }
+
+    String baseUrl() {
+        return server.baseUrl();
+    }
+
+    private static com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder json(String body,
+            double medianLatencyMs) {
+        var response = aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(body);
+        return medianLatencyMs > 0 ? response.withLogNormalRandomDelay(medianLatencyMs, LATENCY_SIGMA) : response;
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+}
@@ -2,27 +2,54 @@ package ma.fstt.bookingservice.api.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import ma.fstt.bookingservice.api.dto.BookingActionResponse;
+import ma.fstt.bookingservice.api.dto.BookingDetailsDTO;
+import ma.fstt.bookingservice.api.dto.BookingIdResponse;
 import ma.fstt.bookingservice.api.dto.BookingRequest;
+import ma.fstt.bookingservice.api.dto.BookingResponseDTO;
+import ma.fstt.bookingservice.api.dto.BookingTermsDTO;
+import ma.fstt.bookingservice.api.dto.BookingStatusDTO;
+import ma.fstt.bookingservice.api.dto.BookingStayDTO;
+import ma.fstt.bookingservice.api.dto.BookingUpdateResponse;
+import ma.fstt.bookingservice.api.dto.MessageResponse;
 import ma.fstt.bookingservice.api.dto.PropertyInfo;
+import ma.fstt.bookingservice.api.dto.ReclamationResponse;
 import ma.fstt.bookingservice.api.dto.UpdateBookingRequest;
 import ma.fstt.bookingservice.domain.entity.Booking;
-import ma.fstt.bookingservice.domain.entity.Property;
-import ma.fstt.bookingservice.domain.repository.BookingRepository;
+import ma.fstt.bookingservice.domain.repository.BookingSummary;
+import ma.fstt.bookingservice.domain.repository.BookingWatermark;
 import ma.fstt.bookingservice.domain.repository.PropertyRepository;
+import ma.fstt.bookingservice.core.messaging.BookingAdmissionControl;
+import ma.fstt.bookingservice.core.messaging.BookingEventStreams;
+import ma.fstt.bookingservice.core.messaging.BookingMessageEncoder;
+import ma.fstt.bookingservice.core.messaging.BookingPublisher;
+import ma.fstt.bookingservice.core.messaging.DeadLetterReplayer;
 import ma.fstt.bookingservice.core.service.BookingService;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import ma.fstt.bookingservice.core.service.IdempotencyStore;
+import org.springframework.amqp.core.Message;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
+import ma.fstt.bookingservice.config.RateLimited;
 import ma.fstt.bookingservice.config.RequiresRole;
 
 import ma.fstt.bookingservice.api.dto.AdminBookingResponseDTO;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -31,26 +58,84 @@ import java.util.Optional;
 public class BookingController {
 
     private final BookingService bookingService;
-    private final RabbitTemplate rabbitTemplate;
     private final PropertyRepository propertyRepository;
-    private final BookingRepository bookingRepository;
+    private final BookingEventStreams eventStreams;
+    private final IdempotencyStore idempotencyStore;
+    private final DeadLetterReplayer deadLetterReplayer;
+    private final BookingAdmissionControl admissionControl;
+    private final BookingMessageEncoder messageEncoder;
+    private final BookingPublisher publisher;
+
+    private static final String PAGE_SIZE = "50";
+    private static final String HAS_NEXT_HEADER = "X-Has-Next";
+    // Leaves room for the "<userId>:" scope within the 128-character column
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    private static final Map<String, Object> INIT_DATA = Map.of("userId", 1, "propertyId", 1);
 
     private boolean isAdmin(String roles) {
         return roles != null && roles.contains("ADMIN");
     }
 
-    private ResponseEntity<Map<String, Object>> unauthorized() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "error");
-        response.put("message", "Unauthorized");
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    private ResponseEntity<MessageResponse> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(MessageResponse.of("error", "Unauthorized"));
+    }
+
+    private ResponseEntity<MessageResponse> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(MessageResponse.of("error", "Forbidden"));
+    }
+
+    private ResponseEntity<MessageResponse> unavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(MessageResponse.of("error", "Message broker unavailable, retry later"));
+    }
+
+    private ResponseEntity<MessageResponse> failed(Exception e) {
+        return ResponseEntity.status(500).body(MessageResponse.error(e.getMessage()));
+    }
+
+    private void release(String idempotencyKey) {
+        if (idempotencyKey != null) {
+            idempotencyStore.release(idempotencyKey);
+        }
+    }
+
+    /**
+     * Wraps one page of a listing. Clients page forward while the X-Has-Next
+     * header is true.
+     */
+    private static <T> ResponseEntity<List<T>> page(Slice<BookingSummary> bookings,
+            Function<BookingSummary, T> mapper) {
+        return ResponseEntity.ok()
+                .header(HAS_NEXT_HEADER, String.valueOf(bookings.hasNext()))
+                .body(bookings.map(mapper).getContent());
     }
 
-    private ResponseEntity<Map<String, Object>> forbidden() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "error");
-        response.put("message", "Forbidden");
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    /**
+     * Answers a list poll from the cheap watermark query. When the client copy is
+     * still current a 304 is prepared and the caller skips the listing query. The
+     * scope keeps date-dependent listings from sharing an ETag across days.
+     */
+    private static boolean notModified(WebRequest request, String scope, BookingWatermark watermark) {
+        long lastUpdated = watermark.getLastUpdated() != null ? watermark.getLastUpdated().toEpochMilli() : 0L;
+        return request.checkNotModified("\"" + scope + "-" + watermark.getCount() + "-" + lastUpdated + "\"");
+    }
+
+    /**
+     * Live feed of changes to the caller's bookings, as tenant or as property
+     * owner. Reconnecting clients send Last-Event-ID to receive what they missed;
+     * a {@code reset} event means the gap is too old and lists should be reloaded.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBookingEvents(
+            @RequestHeader(value = "X-User-Id", required = false) Long requesterId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        if (requesterId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(eventStreams.subscribe(requesterId, lastEventId));
     }
 
     @GetMapping("/statistics")
@@ -73,83 +158,112 @@ public class BookingController {
 
     @GetMapping("/init")
     public ResponseEntity<Map<String, Object>> getInitData() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("userId", 1);
-        response.put("propertyId", 1);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(INIT_DATA);
     }
 
     @PostMapping("/init")
-    public ResponseEntity<Map<String, Object>> receiveInitData(@RequestBody Map<String, Object> initData) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<MessageResponse> receiveInitData(@RequestBody Map<String, Object> initData) {
         try {
             Long userId = initData.get("userId") instanceof Number
                     ? ((Number) initData.get("userId")).longValue()
                     : Long.parseLong(initData.get("userId").toString());
             String propertyId = initData.get("propertyId").toString();
 
-            log.info("Received init data: userId={}, propertyId={}", userId, propertyId);
+            log.debug("Received init data: userId={}, propertyId={}", userId, propertyId);
 
-            response.put("status", "received");
-            response.put("message", "Init data received successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(MessageResponse.of("received", "Init data received successfully"));
         } catch (Exception e) {
             log.error("Error processing init data", e);
-            response.put("status", "error");
-            response.put("message", "Failed to process init data: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.of("error", "Failed to process init data: " + e.getMessage()));
         }
     }
 
+    /**
+     * Queues a booking request. With an {@code Idempotency-Key} header, a retry
+     * carrying the same key (per user) is answered with the original 202 and
+     * never reaches the property service or the queue again; the key also
+     * travels as the message id so the consumer drops redeliveries.
+     *
+     * While the booking queue is backed up, new requests are turned away with
+     * 429 and a Retry-After (see {@link BookingAdmissionControl}).
+     */
     @PostMapping("/request")
-    public ResponseEntity<Map<String, Object>> createBookingRequest(
+    @RateLimited("request")
+    public ResponseEntity<MessageResponse> createBookingRequest(
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody BookingRequest request) {
-        Map<String, Object> response = new HashMap<>();
+        String messageId = null;
         try {
             if (requesterId == null)
                 return unauthorized();
             // enforce authenticated user
             request.setUserId(Long.parseLong(requesterId));
 
-            log.info("Received booking request: userId={}, propertyId={}",
+            log.debug("Received booking request: userId={}, propertyId={}",
                     request.getUserId(), request.getPropertyId());
 
+            if (idempotencyKey != null) {
+                if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                    return ResponseEntity.badRequest().body(new MessageResponse("rejected",
+                            "Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters",
+                            "INVALID_IDEMPOTENCY_KEY"));
+                }
+                String scopedKey = request.getUserId() + ":" + idempotencyKey;
+                if (!idempotencyStore.accept(scopedKey)) {
+                    log.debug("Replaying accepted booking request {}", scopedKey);
+                    return ResponseEntity.accepted()
+                            .header("Idempotent-Replayed", "true")
+                            .body(MessageResponse.of("accepted", "Booking request sent to queue"));
+                }
+                messageId = scopedKey;
+            }
+
+            Optional<Duration> retryAfter = admissionControl.shed(request.getRequestedPrice() != null);
+            if (retryAfter.isPresent()) {
+                release(messageId);
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter.get().toSeconds()))
+                        .body(new MessageResponse("rejected", "Booking queue is busy, retry later", "OVERLOADED"));
+            }
+
             // Validate price before sending to RabbitMQ
             if (request.getRequestedPrice() != null) {
                 String validationError = bookingService.validateRequestedPrice(request);
                 if (validationError != null) {
-                    response.put("status", "rejected");
-                    response.put("message", validationError);
-                    response.put("error", "PRICE_TOO_LOW");
-                    return ResponseEntity.badRequest().body(response);
+                    release(messageId);
+                    return ResponseEntity.badRequest()
+                            .body(new MessageResponse("rejected", validationError, "PRICE_TOO_LOW"));
                 }
             }
 
-            rabbitTemplate.convertAndSend("booking", request);
+            String id = messageId != null ? messageId : UUID.randomUUID().toString();
+            Message message = messageEncoder.encode("booking", request);
+            message.getMessageProperties().setMessageId(id);
+            if (!publisher.publish("booking", message)) {
+                release(messageId);
+                return unavailable();
+            }
 
-            response.put("status", "accepted");
-            response.put("message", "Booking request sent to queue");
-            return ResponseEntity.accepted().body(response);
+            return ResponseEntity.accepted().body(MessageResponse.of("accepted", "Booking request sent to queue"));
         } catch (Exception e) {
+            release(messageId);
             log.error("Error sending booking request", e);
-            response.put("status", "error");
-            response.put("message", "Failed to send booking request: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.of("error", "Failed to send booking request: " + e.getMessage()));
         }
     }
 
     @GetMapping("/property/{id}")
     public ResponseEntity<PropertyInfo> getPropertyInfo(@PathVariable String id) {
         try {
-            log.info("📥 Request to get property info for id: {}", id);
             PropertyInfo property = bookingService.getPropertyInfo(id);
             if (property == null) {
                 log.warn("Property info not found for id: {}", id);
                 return ResponseEntity.notFound().build();
             }
-            log.info("✅ Property info retrieved successfully for id: {}", id);
             return ResponseEntity.ok(property);
         } catch (Exception e) {
             log.error("Error fetching property info for id: {}", id, e);
@@ -158,13 +272,11 @@ public class BookingController {
     }
 
     @GetMapping("/booking-id")
-    public ResponseEntity<Map<String, Object>> getBookingId() {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<BookingIdResponse> getBookingId() {
         try {
             Long bookingId = bookingService.getLastBookingId();
             if (bookingId != null) {
-                response.put("bookingId", bookingId);
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(new BookingIdResponse(bookingId));
             } else {
                 return ResponseEntity.noContent().build();
             }
@@ -175,44 +287,36 @@ public class BookingController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getBookings(
+    public ResponseEntity<List<BookingResponseDTO>> getBookings(
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles,
             @RequestParam(required = false) Long tenantId,
-            @RequestParam(required = false) Long ownerId) {
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size,
+            WebRequest webRequest) {
         try {
             if (requesterId == null)
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             boolean admin = isAdmin(requesterRoles);
-            List<Booking> bookings;
+            Slice<BookingSummary> bookings;
             if (tenantId != null) {
                 if (!admin && !requesterId.equals(tenantId.toString()))
                     return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-                bookings = bookingService.getBookingsByUserId(tenantId);
+                if (notModified(webRequest, "tenant", bookingService.getTenantWatermark(tenantId)))
+                    return null;
+                bookings = bookingService.getBookingsByUserId(tenantId, page, size);
             } else if (ownerId != null) {
                 if (!admin && !requesterId.equals(ownerId.toString()))
                     return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-                bookings = bookingService.getBookingsByOwnerId(ownerId);
+                if (notModified(webRequest, "owner", bookingService.getOwnerWatermark(ownerId)))
+                    return null;
+                bookings = bookingService.getBookingsByOwnerId(ownerId, page, size);
             } else {
                 return ResponseEntity.ok(List.of());
             }
 
-            List<Map<String, Object>> result = bookings.stream().map(booking -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", booking.getId());
-                map.put("userId", booking.getUserId());
-                map.put("propertyId", booking.getPropertyId());
-                map.put("checkInDate", booking.getCheckInDate());
-                map.put("checkOutDate", booking.getCheckOutDate());
-                map.put("totalPrice", booking.getTotalPrice());
-                map.put("status", booking.getStatus());
-                map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-                map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-                map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-                map.put("onChainTxHash", booking.getOnChainTxHash());
-                return map;
-            }).toList();
-            return ResponseEntity.ok(result);
+            return page(bookings, BookingResponseDTO::from);
         } catch (Exception e) {
             log.error("Error fetching bookings", e);
             return ResponseEntity.status(500).build();
@@ -220,32 +324,22 @@ public class BookingController {
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Map<String, Object>>> getPendingBookings(
+    public ResponseEntity<List<BookingResponseDTO>> getPendingBookings(
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles,
-            @RequestParam Long userId) {
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size,
+            WebRequest webRequest) {
         try {
             if (requesterId == null)
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             if (!isAdmin(requesterRoles) && !requesterId.equals(userId.toString()))
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            List<Booking> bookings = bookingService.getPendingBookingsByUserId(userId);
-            List<Map<String, Object>> result = bookings.stream().map(booking -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", booking.getId());
-                map.put("userId", booking.getUserId());
-                map.put("propertyId", booking.getPropertyId());
-                map.put("checkInDate", booking.getCheckInDate());
-                map.put("checkOutDate", booking.getCheckOutDate());
-                map.put("totalPrice", booking.getTotalPrice());
-                map.put("status", booking.getStatus());
-                map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-                map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-                map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-                map.put("onChainTxHash", booking.getOnChainTxHash());
-                return map;
-            }).toList();
-            return ResponseEntity.ok(result);
+            if (notModified(webRequest, "tenant", bookingService.getTenantWatermark(userId)))
+                return null;
+            Slice<BookingSummary> bookings = bookingService.getPendingBookingsByUserId(userId, page, size);
+            return page(bookings, BookingResponseDTO::from);
         } catch (Exception e) {
             log.error("Error fetching pending bookings", e);
             return ResponseEntity.status(500).build();
@@ -253,32 +347,22 @@ public class BookingController {
     }
 
     @GetMapping("/payment")
-    public ResponseEntity<List<Map<String, Object>>> getAwaitingPaymentBookings(
+    public ResponseEntity<List<BookingResponseDTO>> getAwaitingPaymentBookings(
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles,
-            @RequestParam Long userId) {
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size,
+            WebRequest webRequest) {
         try {
             if (requesterId == null)
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             if (!isAdmin(requesterRoles) && !requesterId.equals(userId.toString()))
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            List<Booking> bookings = bookingService.getAwaitingPaymentBookingsByUserId(userId);
-            List<Map<String, Object>> result = bookings.stream().map(booking -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", booking.getId());
-                map.put("userId", booking.getUserId());
-                map.put("propertyId", booking.getPropertyId());
-                map.put("checkInDate", booking.getCheckInDate());
-                map.put("checkOutDate", booking.getCheckOutDate());
-                map.put("totalPrice", booking.getTotalPrice());
-                map.put("status", booking.getStatus());
-                map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-                map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-                map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-                map.put("onChainTxHash", booking.getOnChainTxHash());
-                return map;
-            }).toList();
-            return ResponseEntity.ok(result);
+            if (notModified(webRequest, "tenant", bookingService.getTenantWatermark(userId)))
+                return null;
+            Slice<BookingSummary> bookings = bookingService.getAwaitingPaymentBookingsByUserId(userId, page, size);
+            return page(bookings, BookingResponseDTO::from);
         } catch (Exception e) {
             log.error("Error fetching awaiting payment bookings", e);
             return ResponseEntity.status(500).build();
@@ -286,32 +370,22 @@ public class BookingController {
     }
 
     @GetMapping("/negotiations")
-    public ResponseEntity<List<Map<String, Object>>> getPendingNegotiations(
+    public ResponseEntity<List<BookingResponseDTO>> getPendingNegotiations(
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles,
-            @RequestParam Long ownerId) {
+            @RequestParam Long ownerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size,
+            WebRequest webRequest) {
         try {
             if (requesterId == null)
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             if (!isAdmin(requesterRoles) && !requesterId.equals(ownerId.toString()))
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            List<Booking> bookings = bookingService.getPendingNegotiationsByOwnerId(ownerId);
-            List<Map<String, Object>> result = bookings.stream().map(booking -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", booking.getId());
-                map.put("userId", booking.getUserId());
-                map.put("propertyId", booking.getPropertyId());
-                map.put("checkInDate", booking.getCheckInDate());
-                map.put("checkOutDate", booking.getCheckOutDate());
-                map.put("totalPrice", booking.getTotalPrice());
-                map.put("status", booking.getStatus());
-                map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-                map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-                map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-                map.put("onChainTxHash", booking.getOnChainTxHash());
-                return map;
-            }).toList();
-            return ResponseEntity.ok(result);
+            if (notModified(webRequest, "owner", bookingService.getOwnerWatermark(ownerId)))
+                return null;
+            Slice<BookingSummary> bookings = bookingService.getPendingNegotiationsByOwnerId(ownerId, page, size);
+            return page(bookings, BookingResponseDTO::from);
         } catch (Exception e) {
             log.error("Error fetching pending negotiations", e);
             return ResponseEntity.status(500).build();
@@ -319,92 +393,57 @@ public class BookingController {
     }
 
     @PostMapping("/{id}/accept")
-    public ResponseEntity<Map<String, Object>> acceptNegotiation(
+    public ResponseEntity<?> acceptNegotiation(
             @PathVariable Long id,
             @RequestParam Long ownerId,
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles) {
-        Map<String, Object> response = new HashMap<>();
         try {
             if (requesterId == null)
                 return unauthorized();
             if (!isAdmin(requesterRoles) && !requesterId.equals(ownerId.toString()))
                 return forbidden();
             Booking booking = bookingService.acceptNegotiation(id, ownerId);
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", booking.getId());
-            map.put("userId", booking.getUserId());
-            map.put("propertyId", booking.getPropertyId());
-            map.put("checkInDate", booking.getCheckInDate());
-            map.put("checkOutDate", booking.getCheckOutDate());
-            map.put("totalPrice", booking.getTotalPrice());
-            map.put("status", booking.getStatus());
-            map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-            map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-            map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-            response.put("booking", map);
-            response.put("message", "Negotiation accepted successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingActionResponse<>(BookingTermsDTO.from(booking),
+                    "Negotiation accepted successfully"));
         } catch (Exception e) {
             log.error("Error accepting negotiation for booking id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
     @PostMapping("/{id}/reject")
-    public ResponseEntity<Map<String, Object>> rejectNegotiation(
+    public ResponseEntity<?> rejectNegotiation(
             @PathVariable Long id,
             @RequestParam Long ownerId,
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles) {
-        Map<String, Object> response = new HashMap<>();
         try {
             if (requesterId == null)
                 return unauthorized();
             if (!isAdmin(requesterRoles) && !requesterId.equals(ownerId.toString()))
                 return forbidden();
             Booking booking = bookingService.rejectNegotiation(id, ownerId);
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", booking.getId());
-            map.put("userId", booking.getUserId());
-            map.put("propertyId", booking.getPropertyId());
-            map.put("checkInDate", booking.getCheckInDate());
-            map.put("checkOutDate", booking.getCheckOutDate());
-            map.put("totalPrice", booking.getTotalPrice());
-            map.put("status", booking.getStatus());
-            map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-            map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-            map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-            response.put("booking", map);
-            response.put("message", "Negotiation rejected. The tenant can change the price.");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingActionResponse<>(BookingTermsDTO.from(booking),
+                    "Negotiation rejected. The tenant can change the price."));
         } catch (Exception e) {
             log.error("Error rejecting negotiation for booking id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getBookingById(@PathVariable Long id) {
+    public ResponseEntity<BookingDetailsDTO> getBookingById(@PathVariable Long id, WebRequest webRequest) {
         try {
             Booking booking = bookingService.getBookingById(id);
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", booking.getId());
-            map.put("userId", booking.getUserId());
-            map.put("propertyId", booking.getPropertyId());
-            map.put("checkInDate", booking.getCheckInDate());
-            map.put("checkOutDate", booking.getCheckOutDate());
-            map.put("totalPrice", booking.getTotalPrice());
-            map.put("status", booking.getStatus());
-            map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-            map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-            map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-            map.put("onChainTxHash", booking.getOnChainTxHash());
-            map.put("createdAt", booking.getCreatedAt());
-            map.put("updatedAt", booking.getUpdatedAt());
-            return ResponseEntity.ok(map);
+            String etag = "\"" + booking.getId() + "-" + booking.getVersion() + "-"
+                    + (booking.getUpdatedAt() != null ? booking.getUpdatedAt().toEpochMilli() : 0L) + "\"";
+            boolean notModified = booking.getUpdatedAt() != null
+                    ? webRequest.checkNotModified(etag, booking.getUpdatedAt().toEpochMilli())
+                    : webRequest.checkNotModified(etag);
+            if (notModified)
+                return null;
+            return ResponseEntity.ok(BookingDetailsDTO.from(booking));
         } catch (Exception e) {
             log.error("Error fetching booking with id: {}", id, e);
             return ResponseEntity.notFound().build();
@@ -412,12 +451,12 @@ public class BookingController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateBooking(
+    @RateLimited("update")
+    public ResponseEntity<?> updateBooking(
             @PathVariable Long id,
             @RequestBody UpdateBookingRequest request,
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles) {
-        Map<String, Object> response = new HashMap<>();
         try {
             if (requesterId == null)
                 return unauthorized();
@@ -427,42 +466,32 @@ public class BookingController {
             }
             Booking updatedBooking = bookingService.updateBooking(id, request);
 
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", updatedBooking.getId());
-            map.put("userId", updatedBooking.getUserId());
-            map.put("propertyId", updatedBooking.getPropertyId());
-            map.put("checkInDate", updatedBooking.getCheckInDate());
-            map.put("checkOutDate", updatedBooking.getCheckOutDate());
-            map.put("totalPrice", updatedBooking.getTotalPrice());
-            map.put("status", updatedBooking.getStatus());
-            map.put("longStayDiscountPercent", updatedBooking.getLongStayDiscountPercent());
-            map.put("requestedNegotiationPercent", updatedBooking.getRequestedNegotiationPercent());
-            map.put("negotiationExpiresAt", updatedBooking.getNegotiationExpiresAt());
-            response.put("booking", map);
-            response.put("hasNegotiation", updatedBooking.getRequestedNegotiationPercent() != null);
-            response.put("message", "Booking updated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingUpdateResponse(BookingTermsDTO.from(updatedBooking),
+                    updatedBooking.getRequestedNegotiationPercent() != null,
+                    "Booking updated successfully"));
         } catch (Exception e) {
             log.error("Error updating booking with id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
+    /**
+     * Generic status change, kept for admin overrides. Payment confirmations
+     * should be published on the {@code booking.payment} queue instead, where
+     * they are applied in batches with their transaction hash.
+     */
     @PutMapping("/{id}/status")
-    public ResponseEntity<Map<String, Object>> updateBookingStatus(
+    public ResponseEntity<?> updateBookingStatus(
             @PathVariable Long id,
             @RequestBody Map<String, String> request,
             @RequestHeader(value = "X-User-Id", required = false) String requesterId,
             @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles) {
-        Map<String, Object> response = new HashMap<>();
         try {
             if (requesterId == null)
                 return unauthorized();
             String status = request.get("status");
             if (status == null || status.trim().isEmpty()) {
-                response.put("error", "Status is required");
-                return ResponseEntity.badRequest().body(response);
+                return ResponseEntity.badRequest().body(MessageResponse.error("Status is required"));
             }
 
             Booking booking = bookingService.getBookingById(id);
@@ -470,84 +499,53 @@ public class BookingController {
                 return forbidden();
             }
             String previousStatus = booking.getStatus();
-            log.info("📋 Updating booking status: id={}, previousStatus={}, newStatus={}", id, previousStatus, status);
-
-            booking.setStatus(status);
-            booking = bookingRepository.save(booking);
+            booking = bookingService.updateStatus(booking, status);
 
-            log.info("✅ Booking status saved: id={}, status={}", booking.getId(), booking.getStatus());
+            log.atInfo()
+                    .addKeyValue("bookingId", id)
+                    .addKeyValue("previousStatus", previousStatus)
+                    .addKeyValue("status", booking.getStatus())
+                    .log("Booking {} status changed from {} to {}", id, previousStatus, booking.getStatus());
 
             if ("CONFIRMED".equals(status) && !"CONFIRMED".equals(previousStatus)) {
-                log.info("🔄 Booking {} status changed to CONFIRMED (from {}), cancelling overlapping bookings...", id,
-                        previousStatus);
                 try {
                     bookingService.cancelOverlappingBookings(id);
-                    log.info(" cancelOverlappingBookings completed for booking {}", id);
                 } catch (Exception e) {
-                    log.error(" Error in cancelOverlappingBookings for booking {}: {}", id, e.getMessage(), e);
+                    log.error("Error in cancelOverlappingBookings for booking {}: {}", id, e.getMessage(), e);
                 }
-            } else {
-                log.info("ℹ Not cancelling overlapping bookings: status={}, previousStatus={}", status,
-                        previousStatus);
             }
 
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", booking.getId());
-            map.put("status", booking.getStatus());
-            response.put("booking", map);
-            response.put("message", "Booking status updated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingActionResponse<>(
+                    new BookingStatusDTO(booking.getId(), booking.getStatus()),
+                    "Booking status updated successfully"));
         } catch (Exception e) {
             log.error("Error updating booking status with id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> cancelBooking(
+    public ResponseEntity<?> cancelBooking(
             @PathVariable Long id,
             @RequestParam Long userId) {
-        Map<String, Object> response = new HashMap<>();
         try {
             Booking cancelledBooking = bookingService.cancelBookingByTenant(id, userId);
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", cancelledBooking.getId());
-            map.put("userId", cancelledBooking.getUserId());
-            map.put("propertyId", cancelledBooking.getPropertyId());
-            map.put("checkInDate", cancelledBooking.getCheckInDate());
-            map.put("checkOutDate", cancelledBooking.getCheckOutDate());
-            map.put("totalPrice", cancelledBooking.getTotalPrice());
-            map.put("status", cancelledBooking.getStatus());
-            response.put("booking", map);
-            response.put("message", "Booking cancelled successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingActionResponse<>(BookingStayDTO.from(cancelledBooking),
+                    "Booking cancelled successfully"));
         } catch (Exception e) {
             log.error("Error cancelling booking with id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
     @GetMapping("/current")
-    public ResponseEntity<Map<String, Object>> getCurrentBooking(@RequestParam Long userId) {
+    public ResponseEntity<BookingResponseDTO> getCurrentBooking(@RequestParam Long userId, WebRequest webRequest) {
         try {
+            if (notModified(webRequest, "current-" + LocalDate.now(), bookingService.getTenantWatermark(userId)))
+                return null;
             Optional<Booking> bookingOpt = bookingService.getCurrentBookingByUserId(userId);
             if (bookingOpt.isPresent()) {
-                Booking booking = bookingOpt.get();
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", booking.getId());
-                map.put("userId", booking.getUserId());
-                map.put("propertyId", booking.getPropertyId());
-                map.put("checkInDate", booking.getCheckInDate());
-                map.put("checkOutDate", booking.getCheckOutDate());
-                map.put("totalPrice", booking.getTotalPrice());
-                map.put("status", booking.getStatus());
-                map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-                map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-                map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-                map.put("onChainTxHash", booking.getOnChainTxHash());
-                return ResponseEntity.ok(map);
+                return ResponseEntity.ok(BookingResponseDTO.from(bookingOpt.get()));
             } else {
                 return ResponseEntity.noContent().build();
             }
@@ -558,25 +556,16 @@ public class BookingController {
     }
 
     @GetMapping("/current/owner")
-    public ResponseEntity<List<Map<String, Object>>> getCurrentBookingsByOwner(@RequestParam Long ownerId) {
+    public ResponseEntity<List<BookingResponseDTO>> getCurrentBookingsByOwner(
+            @RequestParam Long ownerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size,
+            WebRequest webRequest) {
         try {
-            List<Booking> bookings = bookingService.getCurrentBookingsByOwnerId(ownerId);
-            List<Map<String, Object>> result = bookings.stream().map(booking -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", booking.getId());
-                map.put("userId", booking.getUserId());
-                map.put("propertyId", booking.getPropertyId());
-                map.put("checkInDate", booking.getCheckInDate());
-                map.put("checkOutDate", booking.getCheckOutDate());
-                map.put("totalPrice", booking.getTotalPrice());
-                map.put("status", booking.getStatus());
-                map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-                map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-                map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-                map.put("onChainTxHash", booking.getOnChainTxHash());
-                return map;
-            }).toList();
-            return ResponseEntity.ok(result);
+            if (notModified(webRequest, "current-" + LocalDate.now(), bookingService.getOwnerWatermark(ownerId)))
+                return null;
+            Slice<BookingSummary> bookings = bookingService.getCurrentBookingsByOwnerId(ownerId, page, size);
+            return page(bookings, BookingResponseDTO::from);
         } catch (Exception e) {
             log.error("Error fetching current bookings by owner", e);
             return ResponseEntity.status(500).build();
@@ -584,25 +573,16 @@ public class BookingController {
     }
 
     @GetMapping("/confirmed/owner")
-    public ResponseEntity<List<Map<String, Object>>> getConfirmedBookingsByOwner(@RequestParam Long ownerId) {
+    public ResponseEntity<List<BookingResponseDTO>> getConfirmedBookingsByOwner(
+            @RequestParam Long ownerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size,
+            WebRequest webRequest) {
         try {
-            List<Booking> bookings = bookingService.getConfirmedBookingsByOwnerId(ownerId);
-            List<Map<String, Object>> result = bookings.stream().map(booking -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", booking.getId());
-                map.put("userId", booking.getUserId());
-                map.put("propertyId", booking.getPropertyId());
-                map.put("checkInDate", booking.getCheckInDate());
-                map.put("checkOutDate", booking.getCheckOutDate());
-                map.put("totalPrice", booking.getTotalPrice());
-                map.put("status", booking.getStatus());
-                map.put("longStayDiscountPercent", booking.getLongStayDiscountPercent());
-                map.put("requestedNegotiationPercent", booking.getRequestedNegotiationPercent());
-                map.put("negotiationExpiresAt", booking.getNegotiationExpiresAt());
-                map.put("onChainTxHash", booking.getOnChainTxHash());
-                return map;
-            }).toList();
-            return ResponseEntity.ok(result);
+            if (notModified(webRequest, "owner", bookingService.getOwnerWatermark(ownerId)))
+                return null;
+            Slice<BookingSummary> bookings = bookingService.getConfirmedBookingsByOwnerId(ownerId, page, size);
+            return page(bookings, BookingResponseDTO::from);
         } catch (Exception e) {
             log.error("Error fetching confirmed bookings by owner", e);
             return ResponseEntity.status(500).build();
@@ -610,21 +590,16 @@ public class BookingController {
     }
 
     @GetMapping("/confirmed/property/{propertyId}")
-    public ResponseEntity<List<Map<String, Object>>> getConfirmedBookingsByProperty(@PathVariable String propertyId) {
+    public ResponseEntity<List<BookingStayDTO>> getConfirmedBookingsByProperty(
+            @PathVariable String propertyId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size,
+            WebRequest webRequest) {
         try {
-            List<Booking> bookings = bookingService.getConfirmedBookingsByPropertyId(propertyId);
-            List<Map<String, Object>> result = bookings.stream().map(booking -> {
-                Map<String, Object> map = new HashMap<>();
-                map.put("id", booking.getId());
-                map.put("userId", booking.getUserId());
-                map.put("propertyId", booking.getPropertyId());
-                map.put("checkInDate", booking.getCheckInDate());
-                map.put("checkOutDate", booking.getCheckOutDate());
-                map.put("totalPrice", booking.getTotalPrice());
-                map.put("status", booking.getStatus());
-                return map;
-            }).toList();
-            return ResponseEntity.ok(result);
+            if (notModified(webRequest, "property", bookingService.getPropertyWatermark(propertyId)))
+                return null;
+            Slice<BookingSummary> bookings = bookingService.getConfirmedBookingsByPropertyId(propertyId, page, size);
+            return page(bookings, BookingStayDTO::from);
         } catch (Exception e) {
             log.error("Error fetching confirmed bookings by property", e);
             return ResponseEntity.status(500).build();
@@ -632,27 +607,16 @@ public class BookingController {
     }
 
     @PostMapping("/{id}/dispute")
-    public ResponseEntity<Map<String, Object>> reportDispute(
+    public ResponseEntity<?> reportDispute(
             @PathVariable Long id,
             @RequestParam Long userId) {
-        Map<String, Object> response = new HashMap<>();
         try {
             Booking booking = bookingService.reportDispute(id, userId);
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", booking.getId());
-            map.put("userId", booking.getUserId());
-            map.put("propertyId", booking.getPropertyId());
-            map.put("checkInDate", booking.getCheckInDate());
-            map.put("checkOutDate", booking.getCheckOutDate());
-            map.put("totalPrice", booking.getTotalPrice());
-            map.put("status", booking.getStatus());
-            response.put("booking", map);
-            response.put("message", "Dispute reported successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingActionResponse<>(BookingStayDTO.from(booking),
+                    "Dispute reported successfully"));
         } catch (Exception e) {
             log.error("Error reporting dispute for booking id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
@@ -660,27 +624,16 @@ public class BookingController {
      * Tenant checkout endpoint (changes status to TENANT_CHECKED_OUT)
      */
     @PostMapping("/{id}/checkout/tenant")
-    public ResponseEntity<Map<String, Object>> tenantCheckout(
+    public ResponseEntity<?> tenantCheckout(
             @PathVariable Long id,
             @RequestParam Long userId) {
-        Map<String, Object> response = new HashMap<>();
         try {
             Booking booking = bookingService.tenantCheckout(id, userId);
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", booking.getId());
-            map.put("userId", booking.getUserId());
-            map.put("propertyId", booking.getPropertyId());
-            map.put("checkInDate", booking.getCheckInDate());
-            map.put("checkOutDate", booking.getCheckOutDate());
-            map.put("totalPrice", booking.getTotalPrice());
-            map.put("status", booking.getStatus());
-            response.put("booking", map);
-            response.put("message", "Tenant checked out successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingActionResponse<>(BookingStayDTO.from(booking),
+                    "Tenant checked out successfully"));
         } catch (Exception e) {
             log.error("Error in tenant checkout for booking id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
@@ -688,27 +641,16 @@ public class BookingController {
      * Owner confirm checkout endpoint (changes status to COMPLETED)
      */
     @PostMapping("/{id}/checkout/owner")
-    public ResponseEntity<Map<String, Object>> ownerConfirmCheckout(
+    public ResponseEntity<?> ownerConfirmCheckout(
             @PathVariable Long id,
             @RequestParam Long userId) {
-        Map<String, Object> response = new HashMap<>();
         try {
             Booking booking = bookingService.ownerConfirmCheckout(id, userId);
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", booking.getId());
-            map.put("userId", booking.getUserId());
-            map.put("propertyId", booking.getPropertyId());
-            map.put("checkInDate", booking.getCheckInDate());
-            map.put("checkOutDate", booking.getCheckOutDate());
-            map.put("totalPrice", booking.getTotalPrice());
-            map.put("status", booking.getStatus());
-            response.put("booking", map);
-            response.put("message", "Owner confirmed checkout successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingActionResponse<>(BookingStayDTO.from(booking),
+                    "Owner confirmed checkout successfully"));
         } catch (Exception e) {
             log.error("Error in owner confirm checkout for booking id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
@@ -717,32 +659,22 @@ public class BookingController {
      */
     @Deprecated
     @PostMapping("/{id}/checkout")
-    public ResponseEntity<Map<String, Object>> markAsCheckedOut(
+    public ResponseEntity<?> markAsCheckedOut(
             @PathVariable Long id,
             @RequestParam Long userId) {
-        Map<String, Object> response = new HashMap<>();
         try {
             Booking booking = bookingService.markAsCheckedOut(id, userId);
-            Map<String, Object> map = new HashMap<>();
-            map.put("id", booking.getId());
-            map.put("userId", booking.getUserId());
-            map.put("propertyId", booking.getPropertyId());
-            map.put("checkInDate", booking.getCheckInDate());
-            map.put("checkOutDate", booking.getCheckOutDate());
-            map.put("totalPrice", booking.getTotalPrice());
-            map.put("status", booking.getStatus());
-            response.put("booking", map);
-            response.put("message", "Booking marked as checked out successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new BookingActionResponse<>(BookingStayDTO.from(booking),
+                    "Booking marked as checked out successfully"));
         } catch (Exception e) {
             log.error("Error marking booking as checked out with id: {}", id, e);
-            response.put("error", e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return failed(e);
         }
     }
 
     @PostMapping(value = "/{id}/reclamation", consumes = { "multipart/form-data" })
-    public ResponseEntity<Map<String, Object>> createReclamation(
+    @RateLimited(value = "reclamation", userParam = "userId")
+    public ResponseEntity<?> createReclamation(
             @PathVariable Long id,
             @RequestParam("userId") Long userId,
             @RequestParam("complainantRole") String complainantRole,
@@ -750,7 +682,6 @@ public class BookingController {
             @RequestParam(value = "title", required = false) String title,
             @RequestParam(value = "description", required = false) String description,
             @RequestParam(value = "images", required = false) MultipartFile[] images) {
-        Map<String, Object> response = new HashMap<>();
         try {
             // Validate images count (max 3)
             if (images != null && images.length > 3) {
@@ -759,15 +690,15 @@ public class BookingController {
 
             // Get booking to verify user role
             Booking booking = bookingService.getBookingById(id);
-            Property property = null;
+            Long ownerId = null;
             String propertyId = booking.getPropertyId();
             if (propertyId != null) {
-                property = propertyRepository.findById(propertyId).orElse(null);
+                ownerId = propertyRepository.findOwnerIdById(propertyId).orElse(null);
             }
 
             // Verify role matches
             boolean isTenant = booking.getUserId().equals(userId);
-            boolean isOwner = property != null && property.getOwnerId().equals(userId);
+            boolean isOwner = userId.equals(ownerId);
 
             if (!isTenant && !isOwner) {
                 throw new RuntimeException("User is not associated with this booking");
@@ -804,18 +735,17 @@ public class BookingController {
                 reclamationMessage.put("images", imageInfo);
             }
 
-            rabbitTemplate.convertAndSend("reclamation", reclamationMessage);
+            if (!publisher.publish("reclamation", messageEncoder.encode("reclamation", reclamationMessage))) {
+                return unavailable();
+            }
 
-            response.put("status", "success");
-            response.put("message", "Reclamation request sent successfully");
-            response.put("reclamationId", "pending"); // Will be created async, frontend will need to poll or use
-                                                      // webhook
-            return ResponseEntity.ok(response);
+            // Will be created async, frontend will need to poll or use webhook
+            return ResponseEntity.ok(new ReclamationResponse("success", "Reclamation request sent successfully",
+                    "pending"));
         } catch (Exception e) {
             log.error("Error creating reclamation for booking id: {}", id, e);
-            response.put("status", "error");
-            response.put("message", "Failed to create reclamation: " + e.getMessage());
-            return ResponseEntity.status(500).body(response);
+            return ResponseEntity.status(500)
+                    .body(MessageResponse.of("error", "Failed to create reclamation: " + e.getMessage()));
         }
     }
 
@@ -826,4 +756,25 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    /**
+     * Puts up to {@code limit} dead-lettered messages back on their work queue
+     * ({@code booking} or one of the lifecycle lanes).
+     */
+    @PostMapping("/admin/dead-letters/{queue}/replay")
+    @RequiresRole("ADMIN")
+    public ResponseEntity<MessageResponse> replayDeadLetters(@PathVariable String queue,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (!RabbitMQConfig.DEAD_LETTERED_QUEUES.contains(queue)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(MessageResponse.error("No dead-letter queue for " + queue));
+        }
+        try {
+            int replayed = deadLetterReplayer.replay(queue, Math.max(limit, 0));
+            return ResponseEntity.ok(MessageResponse.of("replayed", replayed + " messages replayed onto " + queue));
+        } catch (Exception e) {
+            log.error("Error replaying dead letters for queue {}", queue, e);
+            return failed(e);
+        }
+    }
+
 }
@@ -0,0 +1,101 @@
+package ma.fstt.bookingservice.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import ma.fstt.bookingservice.api.dto.AdminBookingResponseDTO;
+import ma.fstt.bookingservice.api.dto.BookingResponseDTO;
+import ma.fstt.bookingservice.config.RequiresRole;
+import ma.fstt.bookingservice.core.service.ReactiveBookingReader;
+import ma.fstt.bookingservice.domain.repository.BookingSummary;
+import ma.fstt.bookingservice.domain.repository.BookingWatermark;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Streaming (NDJSON) variants of the polling-heavy listings, served from the
+ * reactive read path. The servlet thread is released while R2DBC and WebClient
+ * run on their event loops; rows are written as they arrive. Pages use the
+ * same page/size parameters as the JSON listings, without X-Has-Next: a page
+ * shorter than {@code size} is the last one.
+ */
+@RestController
+@RequestMapping("/api/bookings/stream")
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveBookingController {
+
+    private static final String PAGE_SIZE = "50";
+
+    private final ReactiveBookingReader bookingReader;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<BookingResponseDTO>>> streamBookings(
+            @RequestHeader(value = "X-User-Id", required = false) String requesterId,
+            @RequestHeader(value = "X-User-Roles", required = false) String requesterRoles,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(required = false) Long tenantId,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size) {
+        if (requesterId == null)
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        boolean admin = requesterRoles != null && requesterRoles.contains("ADMIN");
+        if (tenantId != null) {
+            if (!admin && !requesterId.equals(tenantId.toString()))
+                return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+            return conditional(ifNoneMatch, "tenant", bookingReader.getTenantWatermark(tenantId),
+                    () -> bookingReader.getBookingsByUserId(tenantId, page, size));
+        }
+        if (ownerId != null) {
+            if (!admin && !requesterId.equals(ownerId.toString()))
+                return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+            return conditional(ifNoneMatch, "owner", bookingReader.getOwnerWatermark(ownerId),
+                    () -> bookingReader.getBookingsByOwnerId(ownerId, page, size));
+        }
+        return Mono.just(ResponseEntity.ok(Flux.empty()));
+    }
+
+    @GetMapping(value = "/current/owner", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<BookingResponseDTO>>> streamCurrentBookingsByOwner(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam Long ownerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = PAGE_SIZE) int size) {
+        return conditional(ifNoneMatch, "current-" + LocalDate.now(), bookingReader.getOwnerWatermark(ownerId),
+                () -> bookingReader.getCurrentBookingsByOwnerId(ownerId, page, size));
+    }
+
+    @GetMapping(value = "/admin/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @RequiresRole("ADMIN")
+    public Flux<AdminBookingResponseDTO> streamAllBookingsForAdmin() {
+        return bookingReader.getAllBookingsForAdmin();
+    }
+
+    /**
+     * Reactive twin of {@code BookingController.notModified}: answers 304 from the
+     * watermark alone and only runs the listing query when the client copy is stale.
+     */
+    private static Mono<ResponseEntity<Flux<BookingResponseDTO>>> conditional(String ifNoneMatch, String scope,
+            Mono<BookingWatermark> watermark, Supplier<Flux<BookingSummary>> listing) {
+        return watermark.map(current -> {
+            long lastUpdated = current.getLastUpdated() != null ? current.getLastUpdated().toEpochMilli() : 0L;
+            String etag = "\"stream-" + scope + "-" + current.getCount() + "-" + lastUpdated + "\"";
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Flux<BookingResponseDTO>>build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(listing.get().map(BookingResponseDTO::from));
+        });
+    }
+}
@@ -43,6 +43,7 @@ public class AdminBookingResponseDTO {
     // Status and payment
     private String status;
     private String onChainTxHash;
+    private String onChainStatus;
     private Instant negotiationExpiresAt;
     
     // Timestamps
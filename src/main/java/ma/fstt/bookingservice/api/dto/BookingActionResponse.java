@@ -0,0 +1,10 @@
+package ma.fstt.bookingservice.api.dto;
+
+/**
+ * Envelope returned by the booking state-change endpoints: the booking as it
+ * stands after the action, plus a human readable confirmation.
+ */
+public record BookingActionResponse<T>(
+        T booking,
+        String message) {
+}
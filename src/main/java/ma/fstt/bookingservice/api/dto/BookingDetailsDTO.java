@@ -0,0 +1,31 @@
+package ma.fstt.bookingservice.api.dto;
+
+import ma.fstt.bookingservice.domain.entity.Booking;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record BookingDetailsDTO(
+        Long id,
+        Long userId,
+        String propertyId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Double totalPrice,
+        String status,
+        Integer longStayDiscountPercent,
+        Integer requestedNegotiationPercent,
+        Instant negotiationExpiresAt,
+        String onChainTxHash,
+        String onChainStatus,
+        Instant createdAt,
+        Instant updatedAt) {
+
+    public static BookingDetailsDTO from(Booking booking) {
+        return new BookingDetailsDTO(booking.getId(), booking.getUserId(), booking.getPropertyId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice(), booking.getStatus(),
+                booking.getLongStayDiscountPercent(), booking.getRequestedNegotiationPercent(),
+                booking.getNegotiationExpiresAt(), booking.getOnChainTxHash(), booking.getOnChainStatus(),
+                booking.getCreatedAt(), booking.getUpdatedAt());
+    }
+}
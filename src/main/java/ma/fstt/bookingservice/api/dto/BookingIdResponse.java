@@ -0,0 +1,4 @@
+package ma.fstt.bookingservice.api.dto;
+
+public record BookingIdResponse(Long bookingId) {
+}
@@ -0,0 +1,36 @@
+package ma.fstt.bookingservice.api.dto;
+
+import ma.fstt.bookingservice.domain.entity.Booking;
+import ma.fstt.bookingservice.domain.repository.BookingSummary;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record BookingResponseDTO(
+        Long id,
+        Long userId,
+        String propertyId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Double totalPrice,
+        String status,
+        Integer longStayDiscountPercent,
+        Integer requestedNegotiationPercent,
+        Instant negotiationExpiresAt,
+        String onChainTxHash,
+        String onChainStatus) {
+
+    public static BookingResponseDTO from(Booking booking) {
+        return new BookingResponseDTO(booking.getId(), booking.getUserId(), booking.getPropertyId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice(), booking.getStatus(),
+                booking.getLongStayDiscountPercent(), booking.getRequestedNegotiationPercent(),
+                booking.getNegotiationExpiresAt(), booking.getOnChainTxHash(), booking.getOnChainStatus());
+    }
+
+    public static BookingResponseDTO from(BookingSummary booking) {
+        return new BookingResponseDTO(booking.getId(), booking.getUserId(), booking.getPropertyId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice(), booking.getStatus(),
+                booking.getLongStayDiscountPercent(), booking.getRequestedNegotiationPercent(),
+                booking.getNegotiationExpiresAt(), booking.getOnChainTxHash(), booking.getOnChainStatus());
+    }
+}
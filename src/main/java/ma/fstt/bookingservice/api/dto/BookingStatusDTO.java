@@ -0,0 +1,6 @@
+package ma.fstt.bookingservice.api.dto;
+
+public record BookingStatusDTO(
+        Long id,
+        String status) {
+}
@@ -0,0 +1,30 @@
+package ma.fstt.bookingservice.api.dto;
+
+import ma.fstt.bookingservice.domain.entity.Booking;
+import ma.fstt.bookingservice.domain.repository.BookingSummary;
+
+import java.time.LocalDate;
+
+/**
+ * Short booking view (who, where, when, how much) returned by the checkout,
+ * cancellation and dispute endpoints and the per-property calendar.
+ */
+public record BookingStayDTO(
+        Long id,
+        Long userId,
+        String propertyId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Double totalPrice,
+        String status) {
+
+    public static BookingStayDTO from(Booking booking) {
+        return new BookingStayDTO(booking.getId(), booking.getUserId(), booking.getPropertyId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice(), booking.getStatus());
+    }
+
+    public static BookingStayDTO from(BookingSummary booking) {
+        return new BookingStayDTO(booking.getId(), booking.getUserId(), booking.getPropertyId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice(), booking.getStatus());
+    }
+}
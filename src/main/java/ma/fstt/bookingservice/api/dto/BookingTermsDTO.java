@@ -0,0 +1,31 @@
+package ma.fstt.bookingservice.api.dto;
+
+import ma.fstt.bookingservice.domain.entity.Booking;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Booking with its price and negotiation terms, returned by the negotiation
+ * accept/reject and booking update endpoints. Unlike {@link BookingResponseDTO}
+ * it carries no {@code onChainTxHash}, which these endpoints never returned.
+ */
+public record BookingTermsDTO(
+        Long id,
+        Long userId,
+        String propertyId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Double totalPrice,
+        String status,
+        Integer longStayDiscountPercent,
+        Integer requestedNegotiationPercent,
+        Instant negotiationExpiresAt) {
+
+    public static BookingTermsDTO from(Booking booking) {
+        return new BookingTermsDTO(booking.getId(), booking.getUserId(), booking.getPropertyId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(), booking.getTotalPrice(), booking.getStatus(),
+                booking.getLongStayDiscountPercent(), booking.getRequestedNegotiationPercent(),
+                booking.getNegotiationExpiresAt());
+    }
+}
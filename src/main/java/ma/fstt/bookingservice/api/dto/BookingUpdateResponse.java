@@ -0,0 +1,7 @@
+package ma.fstt.bookingservice.api.dto;
+
+public record BookingUpdateResponse(
+        BookingTermsDTO booking,
+        boolean hasNegotiation,
+        String message) {
+}
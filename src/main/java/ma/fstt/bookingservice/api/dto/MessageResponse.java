@@ -0,0 +1,23 @@
+package ma.fstt.bookingservice.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Status/message body used by the controller for acknowledgements and errors.
+ * Null fields are omitted, so {@code {"error": "..."}} and
+ * {@code {"status": "...", "message": "..."}} keep their previous shape.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MessageResponse(
+        String status,
+        String message,
+        String error) {
+
+    public static MessageResponse of(String status, String message) {
+        return new MessageResponse(status, message, null);
+    }
+
+    public static MessageResponse error(String error) {
+        return new MessageResponse(null, null, error);
+    }
+}
@@ -15,6 +15,7 @@ public class PropertyInfo {
     private String id; // Changed from Long to String to support UUID
     private Long ownerId; // Keep as Long (userId from user-service is Long)
     private BigDecimal pricePerNight;
+    private BigDecimal depositAmount;
     private Boolean isNegotiable;
     private Boolean discountEnabled;
     private Integer maxNegotiationPercent;
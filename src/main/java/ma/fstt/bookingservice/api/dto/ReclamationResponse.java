@@ -0,0 +1,7 @@
+package ma.fstt.bookingservice.api.dto;
+
+public record ReclamationResponse(
+        String status,
+        String message,
+        String reclamationId) {
+}
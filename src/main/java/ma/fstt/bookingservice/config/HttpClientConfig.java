@@ -0,0 +1,28 @@
+package ma.fstt.bookingservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Client for property-service and user-service. Built from Boot's builder so
+     * every call is recorded as http.client.requests with uri, status and outcome
+     * tags.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+            @Value("${http.client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${http.client.read-timeout:10s}") Duration readTimeout) {
+        return builder
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package ma.fstt.bookingservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJackson2MessageConverter;
+import org.springframework.util.MimeType;
+
+import java.lang.reflect.Type;
+
+/**
+ * CBOR counterpart of {@code Jackson2JsonMessageConverter}: the same Jackson
+ * mapping, type headers and trusted packages, encoded as binary
+ * ({@code application/cbor}).
+ */
+public class Jackson2CborMessageConverter extends AbstractJackson2MessageConverter {
+
+    public static final MimeType CONTENT_TYPE = MimeType.valueOf("application/cbor");
+
+    /**
+     * @param objectMapper the application mapper; its modules and settings are
+     *                     carried over to a copy writing CBOR
+     */
+    public Jackson2CborMessageConverter(ObjectMapper objectMapper, String... trustedPackages) {
+        super(objectMapper.copyWith(new CBORFactory()), CONTENT_TYPE, trustedPackages);
+    }
+
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties, Type genericType) {
+        Message message = super.createMessage(object, messageProperties, genericType);
+        // Binary has no charset; with one set, reading would decode the body as text first
+        message.getMessageProperties().setContentEncoding(null);
+        return message;
+    }
+}
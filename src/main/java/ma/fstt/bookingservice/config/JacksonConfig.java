@@ -0,0 +1,20 @@
+package ma.fstt.bookingservice.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter/constructor calls with generated lambdas. Spring
+     * Boot registers every Module bean on the shared ObjectMapper, so both the
+     * HTTP responses and the AMQP converter pick it up.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,86 @@
+package ma.fstt.bookingservice.config;
+
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * One listener container factory per booking lane, so each lane gets consumers
+ * and prefetch of its own instead of the shared {@code spring.rabbitmq.listener.simple}
+ * settings. The time-critical lanes (negotiation responses, payment confirmations,
+ * disputes) always have consumers free, while new booking requests, which arrive
+ * in floods, are drained at a bounded rate. Negotiation responses and disputes
+ * keep a small prefetch; payment confirmations are consumed in batches.
+ *
+ * The factories start from Boot's configurer, so retry, dead-lettering, the
+ * message converter, observation and virtual threads apply as on every other
+ * listener; only concurrency and prefetch differ.
+ */
+@Configuration
+public class RabbitListenerLanesConfig {
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory bookingLaneContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${booking.lanes.booking.concurrency:2}") int concurrency,
+            @Value("${booking.lanes.booking.max-concurrency:4}") int maxConcurrency,
+            @Value("${booking.lanes.booking.prefetch:50}") int prefetch) {
+        return lane(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory negotiationLaneContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${booking.lanes.negotiation.concurrency:2}") int concurrency,
+            @Value("${booking.lanes.negotiation.max-concurrency:4}") int maxConcurrency,
+            @Value("${booking.lanes.negotiation.prefetch:10}") int prefetch) {
+        return lane(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+
+    /**
+     * Hands payment confirmations to the listener in batches of up to
+     * {@code batch-size}; a batch closes early once no further message arrives
+     * within {@code batch-receive-timeout}, so a lone confirmation waits at most
+     * that long.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory paymentLaneContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${booking.lanes.payment.concurrency:2}") int concurrency,
+            @Value("${booking.lanes.payment.max-concurrency:4}") int maxConcurrency,
+            @Value("${booking.lanes.payment.prefetch:100}") int prefetch,
+            @Value("${booking.lanes.payment.batch-size:50}") int batchSize,
+            @Value("${booking.lanes.payment.batch-receive-timeout:100ms}") Duration batchReceiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = lane(configurer, connectionFactory, concurrency,
+                maxConcurrency, Math.max(prefetch, batchSize));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchReceiveTimeout.toMillis());
+        return factory;
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory disputeLaneContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${booking.lanes.dispute.concurrency:1}") int concurrency,
+            @Value("${booking.lanes.dispute.max-concurrency:2}") int maxConcurrency,
+            @Value("${booking.lanes.dispute.prefetch:10}") int prefetch) {
+        return lane(configurer, connectionFactory, concurrency, maxConcurrency, prefetch);
+    }
+
+    private static SimpleRabbitListenerContainerFactory lane(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory, int concurrency, int maxConcurrency, int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setPrefetchCount(prefetch);
+        return factory;
+    }
+}
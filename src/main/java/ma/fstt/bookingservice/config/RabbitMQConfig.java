@@ -1,23 +1,81 @@
 package ma.fstt.bookingservice.config;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import ma.fstt.bookingservice.core.messaging.BookingCreatedMessage;
+import org.springframework.amqp.support.converter.AbstractJackson2MessageConverter;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
 @Configuration
 @EnableRabbit
 public class RabbitMQConfig {
 
+    public static final String BOOKING_EVENTS_EXCHANGE = "booking.events";
+    public static final String CACHE_INVALIDATION_EXCHANGE = "booking.cache.invalidation";
+    public static final String DEAD_LETTER_EXCHANGE = "booking.dlx";
+    public static final String DEAD_LETTER_SUFFIX = ".dlq";
+    public static final String BOOKING_QUEUE = "booking";
+    public static final String NEGOTIATION_QUEUE = "booking.negotiation";
+    public static final String PAYMENT_QUEUE = "booking.payment";
+    public static final String DISPUTE_QUEUE = "booking.dispute";
+    /**
+     * Work queues that dead-letter into a parking-lot queue of the same name plus {@value #DEAD_LETTER_SUFFIX}.
+     * Only queues this service consumes: {@code reclamation} and {@code booking.created} are also declared by
+     * the services consuming them, without these arguments, and a queue redeclared with different arguments is
+     * refused with PRECONDITION_FAILED. Dead-lettering those is up to a broker policy
+     * ({@code rabbitmqctl set_policy}) set by their owners.
+     */
+    public static final List<String> DEAD_LETTERED_QUEUES = List.of(BOOKING_QUEUE, NEGOTIATION_QUEUE, PAYMENT_QUEUE,
+            DISPUTE_QUEUE);
+
+    // Queues declared with different arguments are refused by the broker, so the
+    // dead-letter arguments need the existing queues to be deleted (once drained) on upgrade
     @Bean
     public Queue bookingQueue() {
-        return new Queue("booking", true);
+        return deadLettered(BOOKING_QUEUE);
+    }
+
+    // Lifecycle transitions get a queue each rather than sharing the booking queue,
+    // so a backlog of new requests never sits in front of them (see RabbitListenerLanesConfig)
+    @Bean
+    public Queue negotiationQueue() {
+        return deadLettered(NEGOTIATION_QUEUE);
+    }
+
+    @Bean
+    public Queue paymentQueue() {
+        return deadLettered(PAYMENT_QUEUE);
+    }
+
+    @Bean
+    public Queue disputeQueue() {
+        return deadLettered(DISPUTE_QUEUE);
     }
 
+    // Declared exactly as their consumers in other services declare them
     @Bean
     public Queue reclamationQueue() {
         return new Queue("reclamation", true);
@@ -28,15 +86,115 @@ public class RabbitMQConfig {
         return new Queue("booking.created", true);
     }
 
+    /**
+     * Parking lot for messages a consumer rejected: failed permanently, or still
+     * failing after the listener retries. Each work queue dead-letters with its own
+     * name as routing key into its own queue, from where an admin can replay them.
+     */
+    @Bean
+    public Declarables deadLetterTopology() {
+        DirectExchange exchange = new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(exchange);
+        for (String queue : DEAD_LETTERED_QUEUES) {
+            Queue parkingLot = QueueBuilder.durable(queue + DEAD_LETTER_SUFFIX).build();
+            declarables.add(parkingLot);
+            declarables.add(BindingBuilder.bind(parkingLot).to(exchange).with(queue));
+        }
+        return new Declarables(declarables);
+    }
+
+    private static Queue deadLettered(String name) {
+        return QueueBuilder.durable(name)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(name)
+                .build();
+    }
+
+    @Bean
+    public FanoutExchange bookingEventsExchange() {
+        return new FanoutExchange(BOOKING_EVENTS_EXCHANGE, true, false);
+    }
+
+    /**
+     * Per-replica queue for the booking change feed: every instance gets its own
+     * copy of each event and the queue goes away with the connection.
+     */
+    @Bean
+    public Queue bookingEventsQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bookingEventsBinding(FanoutExchange bookingEventsExchange, Queue bookingEventsQueue) {
+        return BindingBuilder.bind(bookingEventsQueue).to(bookingEventsExchange);
+    }
+
+    @Bean
+    public FanoutExchange cacheInvalidationExchange() {
+        return new FanoutExchange(CACHE_INVALIDATION_EXCHANGE, true, false);
+    }
+
     @Bean
-    public MessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public Queue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding cacheInvalidationBinding(FanoutExchange cacheInvalidationExchange, Queue cacheInvalidationQueue) {
+        return BindingBuilder.bind(cacheInvalidationQueue).to(cacheInvalidationExchange);
+    }
+
+    /**
+     * Picks the encoding from the message content type: JSON by default, CBOR for
+     * {@code application/cbor}. Consumers read either, so which one a queue gets is
+     * up to its publisher (see {@code BookingMessageEncoder}).
+     */
+    @Bean
+    public MessageConverter messageConverter(ObjectMapper objectMapper) {
+        // Share the application mapper so AMQP payloads get the same modules as HTTP
+        Jackson2JsonMessageConverter json = withTypeIds(new Jackson2JsonMessageConverter(objectMapper));
+        Jackson2CborMessageConverter cbor = withTypeIds(new Jackson2CborMessageConverter(objectMapper, "*"));
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(json);
+        converter.addDelegate(Jackson2CborMessageConverter.CONTENT_TYPE.toString(), cbor);
+        return converter;
+    }
+
+    // booking.created went out as a HashMap; downstream consumers that resolve the
+    // __TypeId__ header against their trusted packages keep seeing that type, along
+    // with the key and content type ids a map needs to be decoded
+    private static <C extends AbstractJackson2MessageConverter> C withTypeIds(C converter) {
+        DefaultJackson2JavaTypeMapper typeMapper = new DefaultJackson2JavaTypeMapper() {
+            @Override
+            public void fromJavaType(JavaType javaType, MessageProperties properties) {
+                super.fromJavaType(javaType, properties);
+                if (javaType.getRawClass() == BookingCreatedMessage.class) {
+                    properties.setHeader(getKeyClassIdFieldName(), Object.class.getName());
+                    properties.setHeader(getContentClassIdFieldName(), Object.class.getName());
+                }
+            }
+        };
+        typeMapper.setTrustedPackages("*");
+        typeMapper.setIdClassMapping(Map.of("java.util.HashMap", BookingCreatedMessage.class));
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter());
+        template.setMessageConverter(messageConverter);
+        // Boot only applies spring.rabbitmq.template.observation-enabled to its own template
+        template.setObservationEnabled(true);
+        // Unroutable messages come back to BookingPublisher instead of vanishing
+        template.setMandatory(true);
+        // Publish time lets consumers measure how long a message sat in the queue
+        template.setBeforePublishPostProcessors(message -> {
+            if (message.getMessageProperties().getTimestamp() == null) {
+                message.getMessageProperties().setTimestamp(new Date());
+            }
+            return message;
+        });
         return template;
     }
 }
@@ -0,0 +1,140 @@
+package ma.fstt.bookingservice.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.RabbitRetryTemplateCustomizer;
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.handler.invocation.MethodArgumentResolutionException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.DateTimeException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded retry for the {@code @RabbitListener}s. Boot builds the stateless retry
+ * interceptor from {@code spring.rabbitmq.listener.simple.retry.*} (attempts and
+ * exponential backoff); this adds which failures are worth retrying and what
+ * happens once retrying stops.
+ *
+ * Permanent failures (a payload that cannot be read, a property-service 4xx such
+ * as a deleted property) go to the parking lot on the first attempt. Anything
+ * else, typically property-service or the database being unavailable, is retried
+ * and parked only when the attempts run out. Parking is a reject without requeue,
+ * which the broker turns into a dead letter for queues declared with a DLX (see
+ * {@link RabbitMQConfig#deadLetterTopology()}) and a drop for the rest.
+ */
+@Configuration
+@Slf4j
+public class RabbitRetryConfig {
+
+    // Looked up through the cause chain; everything not listed is retried
+    private static final Map<Class<? extends Throwable>, Boolean> RETRYABLE = Map.of(
+            MessageConversionException.class, false,
+            org.springframework.messaging.converter.MessageConversionException.class, false,
+            MethodArgumentResolutionException.class, false,
+            HttpClientErrorException.class, false,
+            DateTimeException.class, false,
+            IllegalArgumentException.class, false);
+    private static final BinaryExceptionClassifier RETRYABLE_FAILURES = new BinaryExceptionClassifier(RETRYABLE,
+            true, true);
+
+    @Bean
+    public RabbitRetryTemplateCustomizer listenerRetryPolicy(MeterRegistry registry,
+            @Value("${spring.rabbitmq.listener.simple.retry.max-attempts:3}") int maxAttempts) {
+        return (target, template) -> {
+            if (target != RabbitRetryTemplateCustomizer.Target.LISTENER) {
+                return;
+            }
+            template.setRetryPolicy(new SimpleRetryPolicy(maxAttempts, RETRYABLE, true, true));
+            template.registerListener(new RetryListener() {
+                @Override
+                public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                        Throwable throwable) {
+                    if (!isPermanent(throwable)) {
+                        Counter.builder("booking.messaging.retries")
+                                .description("Listener attempts that failed with a transient error")
+                                .tag("queue", queueOf(callback))
+                                .register(registry)
+                                .increment();
+                    }
+                }
+            });
+        };
+    }
+
+    // Batch listeners (the payment lane) are recovered a batch at a time: every message of it is parked
+    @Bean
+    public MessageRecoverer deadLetteringRecoverer(MeterRegistry registry) {
+        class DeadLetteringRecoverer extends RejectAndDontRequeueRecoverer implements MessageBatchRecoverer {
+
+            @Override
+            public void recover(Message message, Throwable cause) {
+                count(message, cause);
+                super.recover(message, cause);
+            }
+
+            @Override
+            public void recover(List<Message> messages, Throwable cause) {
+                messages.forEach(message -> count(message, cause));
+                super.recover(messages.get(0), cause);
+            }
+
+            private void count(Message message, Throwable cause) {
+                String queue = message.getMessageProperties().getConsumerQueue();
+                String reason = isPermanent(cause) ? "permanent" : "exhausted";
+                Counter.builder("booking.messaging.dead-lettered")
+                        .description("Messages rejected to the parking lot, by why retrying stopped")
+                        .tag("queue", String.valueOf(queue))
+                        .tag("reason", reason)
+                        .register(registry)
+                        .increment();
+                log.warn("Dead-lettering message {} from queue {} ({}): {}",
+                        message.getMessageProperties().getMessageId(), queue, reason, rootCause(cause).toString());
+            }
+        }
+        return new DeadLetteringRecoverer();
+    }
+
+    private static boolean isPermanent(Throwable failure) {
+        return !RETRYABLE_FAILURES.classify(failure);
+    }
+
+    private static Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    // The container invokes the listener as (channel, message) or (channel, batch), which is what the
+    // interceptor retries
+    private static String queueOf(RetryCallback<?, ?> callback) {
+        if (callback instanceof MethodInvocationRetryCallback<?, ?> invocation) {
+            Object[] arguments = invocation.getInvocation().getArguments();
+            Object delivery = arguments.length > 1 ? arguments[1] : null;
+            if (delivery instanceof List<?> batch && !batch.isEmpty()) {
+                delivery = batch.get(0);
+            }
+            if (delivery instanceof Message message) {
+                return String.valueOf(message.getMessageProperties().getConsumerQueue());
+            }
+        }
+        return "unknown";
+    }
+}
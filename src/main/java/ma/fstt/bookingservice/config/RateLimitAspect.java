@@ -0,0 +1,74 @@
+package ma.fstt.bookingservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import ma.fstt.bookingservice.core.service.RateLimiter;
+import ma.fstt.bookingservice.exception.RateLimitExceededException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Applies {@link RateLimited} per caller. The caller is the
+ * {@link RateLimited#userParam()} request parameter when the endpoint names one,
+ * since that is the user the endpoint acts for, and {@code X-User-Id} otherwise.
+ * Requests without a caller are still limited, under one shared anonymous bucket,
+ * so leaving the id out does not get around the limit.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RateLimitAspect {
+
+    private static final String ANONYMOUS = "anonymous";
+
+    private final RateLimiter rateLimiter;
+
+    @Around("@annotation(rateLimited)")
+    public Object limit(ProceedingJoinPoint joinPoint, RateLimited rateLimited) throws Throwable {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            throw new RuntimeException("Request context not found");
+        }
+
+        String caller = rateLimited.userParam().isEmpty()
+                ? headerCaller(attributes.getRequest())
+                : paramCaller(joinPoint, rateLimited.userParam());
+        Optional<Duration> retryAfter = rateLimiter.tryAcquire(rateLimited.value(),
+                caller != null ? caller : ANONYMOUS);
+        if (retryAfter.isPresent()) {
+            throw new RateLimitExceededException(rateLimited.value(), retryAfter.get());
+        }
+
+        return joinPoint.proceed();
+    }
+
+    private static String headerCaller(HttpServletRequest request) {
+        String userId = request.getHeader("X-User-Id");
+        return userId != null && !userId.isBlank() ? userId.trim() : null;
+    }
+
+    // The value the endpoint was bound with, whether it came from the query string or a multipart field
+    private static String paramCaller(ProceedingJoinPoint joinPoint, String name) {
+        Annotation[][] annotations = ((MethodSignature) joinPoint.getSignature()).getMethod().getParameterAnnotations();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof RequestParam param
+                        && (name.equals(param.value()) || name.equals(param.name()))) {
+                    return args[i] != null ? args[i].toString().trim() : null;
+                }
+            }
+        }
+        throw new IllegalStateException("No @RequestParam(\"" + name + "\") on " + joinPoint.getSignature());
+    }
+}
@@ -0,0 +1,14 @@
+package ma.fstt.bookingservice.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value(); // endpoint class, limits under booking.rate-limit.<value>.*
+
+    String userParam() default ""; // request parameter naming the caller, for endpoints not reading X-User-Id
+}
@@ -0,0 +1,82 @@
+package ma.fstt.bookingservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.netty.channel.ChannelOption;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import ma.fstt.bookingservice.domain.repository.reactive.ReactiveBookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Opt-in reactive read path ({@code booking.reactive.enabled=true}) for the
+ * listing streams: R2DBC for the queries, WebClient for enrichment.
+ *
+ * The R2DBC pool is deliberately not exposed as a {@code ConnectionFactory}
+ * bean. Boot backs off its JDBC DataSource as soon as one exists, and JPA
+ * needs that DataSource for every write. Boot's own R2DBC connection
+ * auto-configuration is excluded in application.properties for the same reason.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true")
+@EnableR2dbcRepositories(basePackageClasses = ReactiveBookingRepository.class)
+public class ReactiveReadConfig {
+
+    private final ConnectionPool pool;
+
+    public ReactiveReadConfig(
+            @Value("${booking.reactive.r2dbc.url}") String url,
+            @Value("${booking.reactive.r2dbc.username:${spring.datasource.username:}}") String username,
+            @Value("${booking.reactive.r2dbc.password:${spring.datasource.password:}}") String password,
+            @Value("${booking.reactive.r2dbc.pool-size:10}") int poolSize,
+            MeterRegistry registry) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(Math.min(2, poolSize))
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+        new ConnectionPoolMetrics(pool, "reactive", Tags.empty()).bindTo(registry);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    /**
+     * Client for property-service and user-service on the reactive path, with
+     * the same timeouts as the blocking RestTemplate.
+     */
+    @Bean
+    public WebClient serviceWebClient(WebClient.Builder builder,
+            @Value("${http.client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${http.client.read-timeout:10s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+
+    @PreDestroy
+    public void closePool() {
+        pool.dispose();
+    }
+}
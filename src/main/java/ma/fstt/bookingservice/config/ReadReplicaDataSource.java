@@ -0,0 +1,164 @@
+package ma.fstt.bookingservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Connections for read-only transactions. Hands out a replica connection round
+ * robin, skipping replicas that are unreachable or lag more than
+ * {@code maxLag}, and falls back to the primary when none is usable or the
+ * requesting user has just written (see {@link ReadYourWritesTracker}).
+ *
+ * Replica health comes from {@link #checkLag()}; a replica that fails to hand
+ * out a connection is taken out of rotation until the next check succeeds.
+ */
+@Slf4j
+class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter routedToReplica;
+    private final Counter pinnedToPrimary;
+    private final Counter fellBackToPrimary;
+
+    ReadReplicaDataSource(DataSource primary, List<HikariDataSource> pools, UnaryOperator<DataSource> instrument,
+            ReadYourWritesTracker tracker, Duration maxLag, String lagQuery, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = pools.stream().map(pool -> new Replica(pool, instrument.apply(pool))).toList();
+        this.tracker = tracker;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        for (Replica replica : replicas) {
+            TimeGauge.builder("booking.read-replica.lag", replica, TimeUnit.MILLISECONDS, r -> r.lagMs)
+                    .description("Replication lag measured by the last health check")
+                    .tag("replica", replica.name())
+                    .register(registry);
+            Gauge.builder("booking.read-replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("Whether the replica is taking read-only traffic")
+                    .tag("replica", replica.name())
+                    .register(registry);
+        }
+        this.routedToReplica = routed(registry, "replica");
+        this.pinnedToPrimary = routed(registry, "pinned");
+        this.fellBackToPrimary = routed(registry, "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (tracker.requiresPrimary()) {
+            pinnedToPrimary.increment();
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = replica.connections.getConnection();
+                routedToReplica.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        fellBackToPrimary.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing uses the pooled credentials");
+    }
+
+    /**
+     * Measures every replica's lag and updates which ones take traffic.
+     */
+    void checkLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                long lagMs = rs.next() ? Math.round(rs.getDouble(1) * 1000) : 0;
+                replica.lagMs = lagMs;
+                if (lagMs > maxLag.toMillis()) {
+                    replica.markDown("lagging " + lagMs + "ms behind the primary");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static Counter routed(MeterRegistry registry, String route) {
+        return Counter.builder("booking.read-replica.connections")
+                .description("Read-only connections handed out, by where they were routed")
+                .tag("route", route)
+                .register(registry);
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private final DataSource connections;
+        // Out of rotation until the first health check has passed
+        private volatile boolean available;
+        private volatile boolean checked;
+        private volatile long lagMs;
+
+        private Replica(HikariDataSource pool, DataSource connections) {
+            this.pool = pool;
+            this.connections = connections;
+        }
+
+        String name() {
+            return pool.getPoolName();
+        }
+
+        void markUp() {
+            if (!available) {
+                available = true;
+                log.info("Read replica {} in rotation", name());
+            }
+            checked = true;
+        }
+
+        void markDown(String reason) {
+            if (available || !checked) {
+                available = false;
+                log.warn("Read replica {} out of rotation: {}", name(), reason);
+            }
+            checked = true;
+        }
+    }
+}
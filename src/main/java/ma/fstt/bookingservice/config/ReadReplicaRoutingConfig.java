@@ -0,0 +1,112 @@
+package ma.fstt.bookingservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.ttddyy.observation.boot.autoconfigure.DataSourceObservationBeanPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the read replicas
+ * ({@code booking.read-replicas.enabled=true}); everything else stays on the
+ * primary.
+ *
+ * The application DataSource becomes a {@link LazyConnectionDataSourceProxy}
+ * over the primary pool. It only fetches a physical connection at the first
+ * statement, by which point the transaction has marked the connection read-only
+ * and the proxy can take it from {@link ReadReplicaDataSource} instead.
+ * Replica pools are built from the same {@code spring.datasource.hikari.*}
+ * settings as the primary and are not registered as beans, so Boot still sees
+ * a single DataSource.
+ *
+ * JDBC tracing wraps the pools rather than the routing bean: its connection
+ * listener reads the connection metadata as soon as a connection is handed out,
+ * which would make the proxy fetch a primary connection before the transaction
+ * has declared itself read-only. The bean is listed in
+ * {@code jdbc.excluded-data-source-bean-names} for that reason.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaRoutingConfig {
+
+    private final HikariDataSource primary;
+    private final DataSource tracedPrimary;
+    private final ReadReplicaDataSource replicas;
+
+    public ReadReplicaRoutingConfig(DataSourceProperties properties, Environment environment,
+            ReadYourWritesTracker tracker, MeterRegistry registry,
+            ObjectProvider<DataSourceObservationBeanPostProcessor> tracing,
+            @Value("${booking.read-replicas.urls}") List<String> urls,
+            @Value("${booking.read-replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${booking.read-replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${booking.read-replicas.max-lag:2s}") Duration maxLag,
+            @Value("${booking.read-replicas.lag-query}") String lagQuery) {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("booking.read-replicas.urls must list at least one replica");
+        }
+        Binder binder = Binder.get(environment);
+        UnaryOperator<DataSource> instrument = pool -> {
+            DataSourceObservationBeanPostProcessor processor = tracing.getIfAvailable();
+            String name = ((HikariDataSource) pool).getPoolName();
+            return processor != null ? (DataSource) processor.postProcessAfterInitialization(pool, name) : pool;
+        };
+        this.primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("booking-primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName("booking-replica-" + (i + 1));
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            pools.add(pool);
+        }
+        this.tracedPrimary = instrument.apply(primary);
+        this.replicas = new ReadReplicaDataSource(tracedPrimary, pools, instrument, tracker, maxLag, lagQuery,
+                registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource readReplicaRoutingDataSource() {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(tracedPrimary);
+        dataSource.setReadOnlyDataSource(replicas);
+        return dataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.read-replicas.lag-check-interval-ms:5000}")
+    public void checkReplicaLag() {
+        replicas.checkLag();
+    }
+
+    @PreDestroy
+    public void closePools() {
+        replicas.close();
+        primary.close();
+    }
+}
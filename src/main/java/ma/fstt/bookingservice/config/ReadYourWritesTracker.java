@@ -0,0 +1,82 @@
+package ma.fstt.bookingservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import ma.fstt.bookingservice.core.messaging.BookingChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users had a booking change recently so their reads stay on
+ * the primary until the read replicas have caught up. The tenant, the owner and
+ * whoever made the change are pinned for {@code booking.read-replicas.read-your-writes-window},
+ * which should comfortably exceed {@code booking.read-replicas.max-lag}.
+ *
+ * Changes made on other instances arrive through {@code BookingEventRelay}, so a
+ * user bouncing between instances behind the gateway is covered too, give or
+ * take the relay's own delivery delay.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.read-replicas.enabled", havingValue = "true")
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(
+            @Value("${booking.read-replicas.read-your-writes-window:10s}") Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        pin(event);
+        pin(currentUserId());
+    }
+
+    /**
+     * Pins the tenant and the owner of a booking changed on this or another instance.
+     */
+    public void pin(BookingChangedEvent event) {
+        pin(event.tenantId());
+        pin(event.ownerId());
+    }
+
+    /**
+     * Whether the user behind the current request must read from the primary.
+     * Reads outside a request (listeners, scheduled jobs) never are.
+     */
+    public boolean requiresPrimary() {
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private void pin(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private static Long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String userId = request.getHeader("X-User-Id");
+        try {
+            return userId != null ? Long.valueOf(userId.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
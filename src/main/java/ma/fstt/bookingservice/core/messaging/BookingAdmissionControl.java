@@ -0,0 +1,81 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Sheds booking submissions while the {@code booking} queue is backed up, so a
+ * client gets a 429 it can retry instead of a 202 for a request that will only
+ * be processed minutes later.
+ *
+ * Depth and lag come from {@link BookingQueueMonitor}, so they are as fresh as
+ * its last passive declare. Negotiation offers have their own, lower thresholds:
+ * each one already costs a property-service call at the edge, and they are shed
+ * before plain bookings.
+ */
+@Component
+@Slf4j
+public class BookingAdmissionControl {
+
+    private static final String QUEUE = "booking";
+
+    private final BookingQueueMonitor queueMonitor;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final Thresholds booking;
+    private final Thresholds negotiation;
+    private final Duration retryAfter;
+
+    public BookingAdmissionControl(BookingQueueMonitor queueMonitor, MeterRegistry registry,
+            @Value("${booking.admission.enabled:true}") boolean enabled,
+            @Value("${booking.admission.max-depth:10000}") long maxDepth,
+            @Value("${booking.admission.max-lag:2m}") Duration maxLag,
+            @Value("${booking.admission.negotiation.max-depth:5000}") long negotiationMaxDepth,
+            @Value("${booking.admission.negotiation.max-lag:1m}") Duration negotiationMaxLag,
+            @Value("${booking.admission.retry-after:30s}") Duration retryAfter) {
+        this.queueMonitor = queueMonitor;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.booking = new Thresholds("booking", maxDepth, maxLag);
+        this.negotiation = new Thresholds("negotiation", negotiationMaxDepth, negotiationMaxLag);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Whether to turn a submission away.
+     *
+     * @return the Retry-After to answer with, or empty when the request is admitted
+     */
+    public Optional<Duration> shed(boolean negotiationOffer) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Thresholds thresholds = negotiationOffer ? negotiation : booking;
+        String reason;
+        if (queueMonitor.depth(QUEUE) > thresholds.maxDepth()) {
+            reason = "depth";
+        } else if (queueMonitor.lag(QUEUE).compareTo(thresholds.maxLag()) > 0) {
+            reason = "lag";
+        } else {
+            return Optional.empty();
+        }
+        Counter.builder("booking.admission.rejected")
+                .description("Booking submissions shed while the booking queue is backed up")
+                .tag("kind", thresholds.kind())
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+        log.debug("Shedding {} request: queue depth={}, lag={}", thresholds.kind(), queueMonitor.depth(QUEUE),
+                queueMonitor.lag(QUEUE));
+        return Optional.of(retryAfter);
+    }
+
+    private record Thresholds(String kind, long maxDepth, Duration maxLag) {
+    }
+}
@@ -0,0 +1,32 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A committed change to a booking, as pushed to the tenant and the property
+ * owner. Published in-process by {@code BookingService} and fanned out to the
+ * other replicas over the {@code booking.events} exchange.
+ *
+ * @param eventId        globally unique id, used as the SSE event id so clients
+ *                       can resume with Last-Event-ID on any replica
+ * @param previousStatus status before the change, null for a new booking
+ * @param deleted        true when the booking was removed (overlap cleanup)
+ */
+public record BookingChangedEvent(
+        String eventId,
+        Long bookingId,
+        Long tenantId,
+        Long ownerId,
+        String propertyId,
+        String status,
+        String previousStatus,
+        boolean deleted,
+        Instant occurredAt) {
+
+    public static BookingChangedEvent of(Long bookingId, Long tenantId, Long ownerId, String propertyId,
+            String status, String previousStatus, boolean deleted) {
+        return new BookingChangedEvent(UUID.randomUUID().toString(), bookingId, tenantId, ownerId, propertyId,
+                status, previousStatus, deleted, Instant.now());
+    }
+}
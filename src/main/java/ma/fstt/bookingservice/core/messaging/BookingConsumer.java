@@ -3,15 +3,21 @@ package ma.fstt.bookingservice.core.messaging;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.fstt.bookingservice.api.dto.BookingRequest;
+import ma.fstt.bookingservice.api.dto.PropertyInfo;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
 import ma.fstt.bookingservice.core.service.BookingService;
+import ma.fstt.bookingservice.core.service.BookingService.CreatedBooking;
+import ma.fstt.bookingservice.core.service.IdempotencyStore;
 import ma.fstt.bookingservice.domain.entity.Booking;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Date;
 
 @Component
 @RequiredArgsConstructor
@@ -19,40 +25,61 @@ import java.util.Map;
 public class BookingConsumer {
 
     private final BookingService bookingService;
-    private final RabbitTemplate rabbitTemplate;
+    private final BookingPublisher publisher;
+    private final BookingQueueMonitor queueMonitor;
+    private final IdempotencyStore idempotencyStore;
+    private final BookingMessageEncoder messageEncoder;
 
-    @RabbitListener(queues = "booking")
-    public void handleBooking(BookingRequest request) {
-        log.info("Received booking request: userId={}, propertyId={}, checkIn={}, checkOut={}, guests={}", 
+    @RabbitListener(queues = RabbitMQConfig.BOOKING_QUEUE, containerFactory = "bookingLaneContainerFactory")
+    public void handleBooking(BookingRequest request,
+            @Header(name = AmqpHeaders.TIMESTAMP, required = false) Date publishedAt,
+            @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        queueMonitor.recordWait("booking", publishedAt);
+        if (messageId != null && idempotencyStore.isProcessed(messageId)) {
+            log.debug("Dropping redelivered booking request {}", messageId);
+            return;
+        }
+        log.debug("Received booking request: userId={}, propertyId={}, checkIn={}, checkOut={}, guests={}", 
                 request.getUserId(), request.getPropertyId(), 
                 request.getCheckInDate(), request.getCheckOutDate(), request.getNumberOfGuests());
         
-        try {
-            Booking booking = bookingService.createBooking(request);
-            log.info("Booking created successfully with id: {}", booking.getId());
+        // The booking.created slot is taken before the booking commits: with the buffer full the request
+        // fails and is retried, rather than committing a booking (and its idempotency key) with no event
+        BookingPublisher.Reservation slot = publisher.reserve()
+                .orElseThrow(() -> new IllegalStateException("Publish buffer full, booking request not processed"));
+        try (slot) {
+            CreatedBooking created = bookingService.createBooking(request, messageId);
             
-            sendBookingCreatedMessage(booking, request);
+            sendBookingCreatedMessage(created.booking(), created.property(), slot);
+        } catch (DataIntegrityViolationException e) {
+            // Another consumer claimed the same request first
+            if (messageId != null && idempotencyStore.isProcessed(messageId)) {
+                log.debug("Dropping duplicate booking request {}", messageId);
+                return;
+            }
+            log.error("Error creating booking", e);
+            throw e;
         } catch (Exception e) {
             log.error("Error creating booking", e);
             throw e;
         }
     }
     
-    private void sendBookingCreatedMessage(Booking booking, BookingRequest request) {
+    // Owner and deposit come from the property lookup createBooking made anyway, so consumers need no callback
+    private void sendBookingCreatedMessage(Booking booking, PropertyInfo property, BookingPublisher.Reservation slot) {
         try {
-            Map<String, Object> message = new HashMap<>();
-            message.put("bookingId", booking.getId());
-            message.put("tenantId", booking.getUserId());
-            message.put("propertyId", booking.getPropertyId());
-            message.put("finalRentAmount", BigDecimal.valueOf(booking.getTotalPrice()));
-            message.put("status", booking.getStatus());
-            message.put("ownerId", null);
-            message.put("depositAmount", null);
+            BookingCreatedMessage message = new BookingCreatedMessage(booking.getId(), booking.getUserId(),
+                    booking.getPropertyId(), BigDecimal.valueOf(booking.getTotalPrice()), booking.getStatus(),
+                    property.getOwnerId(), property.getDepositAmount());
+            Message encoded = messageEncoder.encode("booking.created", message);
+            encoded.getMessageProperties().setHeader(BookingCreatedMessage.SCHEMA_VERSION_HEADER,
+                    BookingCreatedMessage.SCHEMA_VERSION);
             
-            rabbitTemplate.convertAndSend("booking.created", message);
+            slot.publish("booking.created", encoded);
             
-            log.info("Sent booking.created message to RabbitMQ: bookingId={}, tenantId={}, propertyId={}, finalRentAmount={}, status={}",
-                    booking.getId(), booking.getUserId(), booking.getPropertyId(), booking.getTotalPrice(), booking.getStatus());
+            log.debug("Sent booking.created message to RabbitMQ: bookingId={}, tenantId={}, propertyId={}, finalRentAmount={}, status={}, ownerId={}, depositAmount={}",
+                    booking.getId(), booking.getUserId(), booking.getPropertyId(), booking.getTotalPrice(), booking.getStatus(),
+                    message.ownerId(), message.depositAmount());
         } catch (Exception e) {
             log.error("Error sending booking.created message", e);
         }
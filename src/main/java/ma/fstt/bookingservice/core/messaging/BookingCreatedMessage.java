@@ -0,0 +1,33 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import java.math.BigDecimal;
+
+/**
+ * Payload of {@code booking.created}, published once a booking request has been
+ * turned into a booking. Field names match the map it replaces.
+ *
+ * The schema version travels in the payload and in the
+ * {@value #SCHEMA_VERSION_HEADER} header, so consumers can route on it without
+ * decoding the body. Version 1 was the map with {@code ownerId} and
+ * {@code depositAmount} always null; from version 2 both are filled in from
+ * property-service. Adding a field keeps the version, renaming, removing or
+ * changing the meaning of one bumps it.
+ */
+public record BookingCreatedMessage(
+        Long bookingId,
+        Long tenantId,
+        String propertyId,
+        BigDecimal finalRentAmount,
+        String status,
+        Long ownerId,
+        BigDecimal depositAmount,
+        int schemaVersion) {
+
+    public static final int SCHEMA_VERSION = 2;
+    public static final String SCHEMA_VERSION_HEADER = "x-schema-version";
+
+    public BookingCreatedMessage(Long bookingId, Long tenantId, String propertyId, BigDecimal finalRentAmount,
+            String status, Long ownerId, BigDecimal depositAmount) {
+        this(bookingId, tenantId, propertyId, finalRentAmount, status, ownerId, depositAmount, SCHEMA_VERSION);
+    }
+}
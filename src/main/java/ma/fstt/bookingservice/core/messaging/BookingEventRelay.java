@@ -0,0 +1,59 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
+import ma.fstt.bookingservice.config.ReadYourWritesTracker;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * Bridges the in-process booking events to every replica. Committed changes are
+ * dispatched to local SSE subscribers straight away and handed to
+ * {@link BookingPublisher} for the {@code booking.events} fanout exchange, so the
+ * committing thread never waits on the broker; each replica consumes the
+ * exchange through its own anonymous queue and skips the events it originated.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingEventRelay {
+
+    static final String ORIGIN_HEADER = "x-origin";
+
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final BookingEventStreams eventStreams;
+    private final BookingPublisher publisher;
+    private final BookingMessageEncoder messageEncoder;
+    private final ObjectProvider<ReadYourWritesTracker> readYourWrites;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        eventStreams.dispatch(event);
+        Message message = messageEncoder.encode(RabbitMQConfig.BOOKING_EVENTS_EXCHANGE, event);
+        message.getMessageProperties().setHeader(ORIGIN_HEADER, INSTANCE_ID);
+        if (!publisher.broadcast(RabbitMQConfig.BOOKING_EVENTS_EXCHANGE, message)) {
+            // Subscribers on other replicas miss this change; their clients resync on reconnect
+            log.warn("Publish buffer full, booking event {} for booking {} not fanned out", event.eventId(),
+                    event.bookingId());
+        }
+    }
+
+    @RabbitListener(queues = "#{bookingEventsQueue.name}")
+    public void onRemoteBookingChanged(BookingChangedEvent event,
+            @Header(name = ORIGIN_HEADER, required = false) String origin) {
+        if (INSTANCE_ID.equals(origin)) {
+            return;
+        }
+        // Keep the affected users on the primary here too until the replicas catch up
+        readYourWrites.ifAvailable(tracker -> tracker.pin(event));
+        eventStreams.dispatch(event);
+    }
+}
@@ -0,0 +1,208 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registry of the open SSE connections on this replica.
+ *
+ * Every connection owns a bounded buffer, drained on a virtual thread of its own
+ * whenever it has events, so a slow client blocks neither the dispatching thread
+ * (request thread or Rabbit listener) nor the other connections. A connection
+ * whose buffer overflows is completed; the client
+ * reconnects with Last-Event-ID and is replayed from the in-memory ring of
+ * recent events, or told to resync with a {@code reset} event when its id has
+ * already been evicted.
+ */
+@Component
+@Slf4j
+public class BookingEventStreams {
+
+    static final String EVENT_NAME = "booking";
+    static final String RESET_EVENT_NAME = "reset";
+
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ArrayDeque<BookingChangedEvent> recent;
+    private final int replaySize;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final ExecutorService sender;
+
+    public BookingEventStreams(
+            @Value("${booking.events.replay-size:1000}") int replaySize,
+            @Value("${booking.events.buffer-size:64}") int bufferSize,
+            @Value("${booking.events.timeout-ms:1800000}") long timeoutMs) {
+        this.replaySize = replaySize;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.recent = new ArrayDeque<>(replaySize);
+        // A write stalled on a client's TCP window parks only that connection's virtual thread
+        this.sender = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("booking-sse-sender-", 0).factory());
+    }
+
+    /**
+     * Opens a stream for the given user. When {@code lastEventId} is set the
+     * events the user missed since then are queued first.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(userId, emitter);
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> remove(subscription));
+        emitter.onError(e -> remove(subscription));
+
+        // Hold the ring while registering so no event slips between replay and live delivery
+        synchronized (recent) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(subscription, lastEventId);
+            }
+            subscriptions.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        }
+        return emitter;
+    }
+
+    /**
+     * Records the event for replay and hands it to the tenant's and the owner's
+     * open connections.
+     */
+    public void dispatch(BookingChangedEvent event) {
+        synchronized (recent) {
+            if (recent.size() == replaySize) {
+                recent.removeFirst();
+            }
+            recent.addLast(event);
+        }
+        deliver(event.tenantId(), event);
+        if (!Objects.equals(event.ownerId(), event.tenantId())) {
+            deliver(event.ownerId(), event);
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies that drop silent streams.
+     */
+    @Scheduled(fixedDelayString = "${booking.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscriptions.values().forEach(set -> set.forEach(
+                subscription -> subscription.offer(SseEmitter.event().comment("ping"))));
+    }
+
+    public int openConnections() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(set -> set.forEach(subscription -> subscription.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private void replay(Subscription subscription, String lastEventId) {
+        List<BookingChangedEvent> missed = new ArrayList<>();
+        boolean found = false;
+        for (Iterator<BookingChangedEvent> it = recent.iterator(); it.hasNext(); ) {
+            BookingChangedEvent event = it.next();
+            if (found) {
+                if (concerns(event, subscription.userId)) {
+                    missed.add(event);
+                }
+            } else if (event.eventId().equals(lastEventId)) {
+                found = true;
+            }
+        }
+        if (!found || missed.size() > bufferSize) {
+            subscription.offer(SseEmitter.event().name(RESET_EVENT_NAME).data(""));
+            return;
+        }
+        missed.forEach(event -> subscription.offer(toSse(event)));
+    }
+
+    private void deliver(Long userId, BookingChangedEvent event) {
+        if (userId == null) {
+            return;
+        }
+        Set<Subscription> set = subscriptions.get(userId);
+        if (set != null) {
+            set.forEach(subscription -> subscription.offer(toSse(event)));
+        }
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.userId, (id, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static boolean concerns(BookingChangedEvent event, Long userId) {
+        return userId.equals(event.tenantId()) || userId.equals(event.ownerId());
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(BookingChangedEvent event) {
+        return SseEmitter.event().id(event.eventId()).name(EVENT_NAME).data(event);
+    }
+
+    private final class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!buffer.offer(event)) {
+                log.debug("SSE buffer full for user {}, closing stream", userId);
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while ((event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                remove(this);
+                buffer.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An offer may have landed after the last poll but before the flag was cleared
+            if (!buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
+import ma.fstt.bookingservice.core.service.BookingService;
+import ma.fstt.bookingservice.domain.entity.Booking;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies the booking transitions other services publish: negotiation responses,
+ * payment confirmations and disputes. Each has its own queue and listener
+ * container (see {@code RabbitListenerLanesConfig}), so they are not held up by a
+ * backlog of new booking requests.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingLifecycleConsumer {
+
+    private final BookingService bookingService;
+    private final BookingQueueMonitor queueMonitor;
+    private final BookingPublisher publisher;
+    private final BookingMessageEncoder messageEncoder;
+    private final MeterRegistry registry;
+
+    @RabbitListener(queues = RabbitMQConfig.NEGOTIATION_QUEUE, containerFactory = "negotiationLaneContainerFactory")
+    public void handleNegotiationResponse(NegotiationResponseMessage response,
+            @Header(name = AmqpHeaders.TIMESTAMP, required = false) Date publishedAt) {
+        queueMonitor.recordWait(RabbitMQConfig.NEGOTIATION_QUEUE, publishedAt);
+        Booking booking = response.accepted()
+                ? bookingService.acceptNegotiation(response.bookingId(), response.ownerId())
+                : bookingService.rejectNegotiation(response.bookingId(), response.ownerId());
+        log.debug("Applied negotiation response for booking {}: {}", booking.getId(), booking.getStatus());
+    }
+
+    /**
+     * Payment confirmations come in bursts once a block is mined, so they are
+     * consumed in batches (see {@code booking.lanes.payment.batch-size}) and
+     * applied in one transaction. Confirmations the service turns down are parked
+     * one by one; the rest of the batch is acked. A failure of the batch as a whole
+     * is retried, which confirming is idempotent for.
+     */
+    @RabbitListener(queues = RabbitMQConfig.PAYMENT_QUEUE, containerFactory = "paymentLaneContainerFactory")
+    public void handlePaymentConfirmations(List<Message<PaymentConfirmationMessage>> confirmations) {
+        Map<Long, String> txHashes = new LinkedHashMap<>();
+        List<PaymentConfirmationMessage> rejected = new ArrayList<>();
+        for (Message<PaymentConfirmationMessage> message : confirmations) {
+            queueMonitor.recordWait(RabbitMQConfig.PAYMENT_QUEUE,
+                    message.getHeaders().get(AmqpHeaders.TIMESTAMP, Date.class));
+            PaymentConfirmationMessage confirmation = message.getPayload();
+            if (confirmation.bookingId() == null) {
+                rejected.add(confirmation);
+            } else {
+                txHashes.put(confirmation.bookingId(), confirmation.onChainTxHash());
+            }
+        }
+        Set<Long> notConfirmed = txHashes.isEmpty() ? Set.of() : bookingService.confirmPayments(txHashes);
+        for (Message<PaymentConfirmationMessage> message : confirmations) {
+            // Confirmations without a booking id are already in rejected; Set.of() rejects null lookups
+            Long bookingId = message.getPayload().bookingId();
+            if (bookingId != null && notConfirmed.contains(bookingId)) {
+                rejected.add(message.getPayload());
+            }
+        }
+        rejected.forEach(this::park);
+        log.debug("Applied {} payment confirmation(s), {} turned down", confirmations.size(), rejected.size());
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.DISPUTE_QUEUE, containerFactory = "disputeLaneContainerFactory")
+    public void handleDispute(DisputeMessage dispute,
+            @Header(name = AmqpHeaders.TIMESTAMP, required = false) Date publishedAt) {
+        queueMonitor.recordWait(RabbitMQConfig.DISPUTE_QUEUE, publishedAt);
+        bookingService.reportDispute(dispute.bookingId(), dispute.userId());
+        log.debug("Recorded dispute for booking {} from user {}", dispute.bookingId(), dispute.userId());
+    }
+
+    // A batch is acked or rejected as a whole, so a single message is parked by publishing it to the parking lot
+    private void park(PaymentConfirmationMessage confirmation) {
+        String parkingLot = RabbitMQConfig.PAYMENT_QUEUE + RabbitMQConfig.DEAD_LETTER_SUFFIX;
+        Counter.builder("booking.messaging.dead-lettered")
+                .description("Messages rejected to the parking lot, by why retrying stopped")
+                .tag("queue", RabbitMQConfig.PAYMENT_QUEUE)
+                .tag("reason", "permanent")
+                .register(registry)
+                .increment();
+        log.warn("Parking payment confirmation for booking {} (tx {}): booking cannot be confirmed",
+                confirmation.bookingId(), confirmation.onChainTxHash());
+        if (!publisher.publish(parkingLot, messageEncoder.encode(RabbitMQConfig.PAYMENT_QUEUE, confirmation))) {
+            log.error("Publish buffer full, payment confirmation for booking {} not parked", confirmation.bookingId());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes outgoing payloads in the content type configured for their queue
+ * ({@code booking.messaging.content-type.<queue>}, JSON unless set). CBOR is
+ * opt-in per queue, and only safe once every consumer of that queue reads it:
+ * a consumer on an older release rejects {@code application/cbor}. The
+ * converter is content-type delegating, so the content type has to be on the
+ * message properties before conversion, which {@code convertAndSend} does not
+ * allow; publish the result with {@code RabbitTemplate.send}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMessageEncoder {
+
+    private static final String DEFAULT_CONTENT_TYPE = MessageProperties.CONTENT_TYPE_JSON;
+
+    private final MessageConverter messageConverter;
+    private final Environment environment;
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>();
+
+    public Message encode(String queue, Object payload) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(contentTypes.computeIfAbsent(queue,
+                q -> environment.getProperty("booking.messaging.content-type." + q, DEFAULT_CONTENT_TYPE)));
+        return messageConverter.toMessage(payload, properties);
+    }
+}
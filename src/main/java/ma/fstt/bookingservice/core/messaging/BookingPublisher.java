@@ -0,0 +1,313 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes messages off the caller's thread: work-queue messages through
+ * {@link #publish}, and best-effort fanout notifications to the other replicas
+ * through {@link #broadcast}. Both only
+ * appends to a bounded in-memory buffer; a single sender thread drains it onto
+ * the broker with correlated publisher confirms, and the confirm callbacks
+ * decide what happens next:
+ * <ul>
+ * <li>ack: done;</li>
+ * <li>nack, returned as unroutable, or no confirm within {@code confirm-timeout}:
+ * back into the buffer, up to {@code max-attempts};</li>
+ * <li>broker unreachable: the sender backs off and retries the same message, while
+ * the buffer rides out the outage until it fills up.</li>
+ * </ul>
+ * A full buffer makes {@link #publish} return false, which callers surface as
+ * 503 rather than accepting work they cannot hand over. Callers that commit work
+ * before publishing about it take a slot with {@link #reserve()} first, so a full
+ * buffer turns the work away before anything is committed rather than after.
+ * Broadcasts are dropped once the buffer is half full, which keeps the other
+ * half for work messages during a broker outage.
+ *
+ * The buffer is not persistent: messages still in it are lost if the process
+ * dies. Booking requests carry their idempotency key, so a client retry after
+ * such a loss is safe, and a retry after a confirm timeout that did reach the
+ * broker is dropped by the consumer.
+ */
+@Component
+@Slf4j
+public class BookingPublisher {
+
+    private static final String DEFAULT_EXCHANGE = "";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry registry;
+    private final BlockingQueue<Pending> buffer;
+    // One permit per free buffer slot; buffered messages and open reservations each hold one
+    private final Semaphore slots;
+    // Free slots that broadcasts leave to work messages
+    private final int broadcastHeadroom;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final int maxAttempts;
+    private final Duration confirmTimeout;
+    private final Duration maxBackoff;
+    private final Duration shutdownTimeout;
+    private final boolean confirms;
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    public BookingPublisher(RabbitTemplate rabbitTemplate, MeterRegistry registry,
+            @Value("${booking.publisher.buffer-size:10000}") int bufferSize,
+            @Value("${booking.publisher.max-attempts:5}") int maxAttempts,
+            @Value("${booking.publisher.confirm-timeout:10s}") Duration confirmTimeout,
+            @Value("${booking.publisher.max-backoff:30s}") Duration maxBackoff,
+            @Value("${booking.publisher.shutdown-timeout:5s}") Duration shutdownTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.registry = registry;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.slots = new Semaphore(bufferSize);
+        this.broadcastHeadroom = bufferSize / 2;
+        this.maxAttempts = maxAttempts;
+        this.confirmTimeout = confirmTimeout;
+        this.maxBackoff = maxBackoff;
+        this.shutdownTimeout = shutdownTimeout;
+        ConnectionFactory connectionFactory = rabbitTemplate.getConnectionFactory();
+        // Without confirms on the connection factory nothing would ever be acked
+        this.confirms = connectionFactory != null && connectionFactory.isPublisherConfirms();
+        if (!confirms) {
+            log.warn("Publisher confirms are off; messages count as delivered once written to the channel");
+        }
+        Gauge.builder("booking.publisher.buffered", buffer, BlockingQueue::size)
+                .description("Messages waiting to be sent to the broker")
+                .register(registry);
+        Gauge.builder("booking.publisher.in-flight", inFlight, Map::size)
+                .description("Messages sent and waiting for a publisher confirm")
+                .register(registry);
+        this.sender = Thread.ofPlatform().name("booking-publisher").daemon().start(this::drain);
+    }
+
+    /**
+     * Queues {@code message} for the work queue {@code queue}.
+     *
+     * @return false when the buffer is full and the message was not taken
+     */
+    public boolean publish(String queue, Message message) {
+        if (running && slots.tryAcquire()) {
+            buffer.add(new Pending(DEFAULT_EXCHANGE, queue, message, 1));
+            return true;
+        }
+        dropped(queue, "buffer-full");
+        return false;
+    }
+
+    /**
+     * Queues {@code message} for the fanout exchange {@code exchange}, unless the
+     * buffer is half full: a missed notification is tolerated by its receivers,
+     * a missed work message is not.
+     *
+     * @return false when the message was dropped
+     */
+    public boolean broadcast(String exchange, Message message) {
+        if (running && slots.availablePermits() > broadcastHeadroom && slots.tryAcquire()) {
+            buffer.add(new Pending(exchange, "", message, 1));
+            return true;
+        }
+        dropped(exchange, "buffer-full");
+        return false;
+    }
+
+    /**
+     * Takes a buffer slot for a message to be published later, once the work it
+     * reports on has been done. Close the reservation to hand the slot back if
+     * that work fails.
+     *
+     * @return empty when the buffer is full
+     */
+    public Optional<Reservation> reserve() {
+        return running && slots.tryAcquire() ? Optional.of(new Reservation()) : Optional.empty();
+    }
+
+    /**
+     * Fails sends whose confirm is overdue, e.g. after a connection dropped with
+     * the confirm outstanding, so they are sent again.
+     */
+    @Scheduled(fixedDelayString = "${booking.publisher.confirm-sweep-interval-ms:1000}")
+    public void expireUnconfirmed() {
+        long cutoff = System.nanoTime() - confirmTimeout.toNanos();
+        inFlight.forEach((id, sent) -> {
+            if (sent.sentAt() < cutoff && inFlight.remove(id) != null) {
+                retry(sent.pending(), "timeout");
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        while ((!buffer.isEmpty() || !inFlight.isEmpty()) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        sender.interrupt();
+        if (!buffer.isEmpty() || !inFlight.isEmpty()) {
+            log.warn("Stopping with {} buffered and {} unconfirmed messages", buffer.size(), inFlight.size());
+        }
+    }
+
+    private void drain() {
+        long backoffMs = 0;
+        Pending next = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (next == null) {
+                    next = buffer.poll(1, TimeUnit.SECONDS);
+                    if (next == null) {
+                        continue;
+                    }
+                    slots.release();
+                }
+                send(next);
+                next = null;
+                backoffMs = 0;
+            } catch (AmqpException e) {
+                // Broker unreachable: hold on to the message and try again
+                backoffMs = Math.min(Math.max(backoffMs * 2, 100), maxBackoff.toMillis());
+                log.warn("Publishing to {} failed, retrying in {}ms: {}", next.destination(), backoffMs,
+                        e.getMessage());
+                retried(next.destination(), "broker-down");
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void send(Pending pending) {
+        if (!confirms) {
+            rabbitTemplate.send(pending.exchange(), pending.routingKey(), pending.message());
+            return;
+        }
+        CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+        long sentAt = System.nanoTime();
+        inFlight.put(correlation.getId(), new InFlight(pending, sentAt));
+        correlation.getFuture().whenComplete((confirm, failure) -> {
+            if (inFlight.remove(correlation.getId()) == null) {
+                return; // already timed out and sent again
+            }
+            if (failure != null || !confirm.isAck()) {
+                retry(pending, "nack");
+            } else if (correlation.getReturned() != null) {
+                retry(pending, "returned");
+            } else {
+                Timer.builder("booking.publisher.confirm")
+                        .description("Time from send to broker confirm")
+                        .tag("queue", pending.destination())
+                        .register(registry)
+                        .record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+            }
+        });
+        try {
+            rabbitTemplate.send(pending.exchange(), pending.routingKey(), pending.message(), correlation);
+        } catch (AmqpException e) {
+            inFlight.remove(correlation.getId());
+            throw e;
+        }
+    }
+
+    private void retry(Pending pending, String reason) {
+        if (pending.attempt() >= maxAttempts) {
+            log.error("Giving up on message {} for {} after {} attempts ({})",
+                    pending.message().getMessageProperties().getMessageId(), pending.destination(),
+                    pending.attempt(), reason);
+            dropped(pending.destination(), "gave-up");
+            return;
+        }
+        retried(pending.destination(), reason);
+        if (!slots.tryAcquire()) {
+            dropped(pending.destination(), "buffer-full");
+            return;
+        }
+        buffer.add(new Pending(pending.exchange(), pending.routingKey(), pending.message(), pending.attempt() + 1));
+    }
+
+    private void retried(String queue, String reason) {
+        Counter.builder("booking.publisher.retried")
+                .description("Sends repeated after a nack, return, confirm timeout or broker outage")
+                .tag("queue", queue)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    private void dropped(String queue, String reason) {
+        Counter.builder("booking.publisher.dropped")
+                .description("Messages given up on, because the buffer was full or the attempts ran out")
+                .tag("queue", queue)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * A buffer slot held for one message.
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final AtomicBoolean held = new AtomicBoolean(true);
+
+        private Reservation() {
+        }
+
+        /**
+         * Queues {@code message} for {@code queue} in the reserved slot; unlike
+         * {@link BookingPublisher#publish} this cannot be turned away.
+         */
+        public void publish(String queue, Message message) {
+            if (!held.compareAndSet(true, false)) {
+                throw new IllegalStateException("Publish reservation already used");
+            }
+            buffer.add(new Pending(DEFAULT_EXCHANGE, queue, message, 1));
+        }
+
+        // Hands the slot back unless a message was published in it
+        @Override
+        public void close() {
+            if (held.compareAndSet(true, false)) {
+                slots.release();
+            }
+        }
+    }
+
+    private record Pending(String exchange, String routingKey, Message message, int attempt) {
+
+        // The work queue, or the exchange of a broadcast
+        String destination() {
+            return DEFAULT_EXCHANGE.equals(exchange) ? routingKey : exchange;
+        }
+    }
+
+    private record InFlight(Pending pending, long sentAt) {
+    }
+}
@@ -0,0 +1,118 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consumer lag of the work queues. Depth and consumer count come from a periodic
+ * passive declare; the time a message spent queued is measured on consumption
+ * from the timestamp stamped by the RabbitTemplate on publish. The last such wait
+ * is kept as the queue's current lag until the queue is seen empty.
+ */
+@Component
+@Slf4j
+public class BookingQueueMonitor {
+
+    private final AmqpAdmin amqpAdmin;
+    private final MeterRegistry registry;
+    private final Map<String, AtomicLong> depths = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> consumers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lags = new ConcurrentHashMap<>();
+
+    public BookingQueueMonitor(AmqpAdmin amqpAdmin, MeterRegistry registry,
+            @Value("${booking.queue-monitor.queues:booking}") List<String> queues) {
+        this.amqpAdmin = amqpAdmin;
+        this.registry = registry;
+        for (String queue : queues) {
+            AtomicLong depth = new AtomicLong();
+            AtomicLong consumerCount = new AtomicLong();
+            AtomicLong lagMs = new AtomicLong();
+            depths.put(queue, depth);
+            consumers.put(queue, consumerCount);
+            lags.put(queue, lagMs);
+            Gauge.builder("booking.queue.depth", depth, AtomicLong::get)
+                    .description("Messages waiting in the queue")
+                    .tag("queue", queue)
+                    .register(registry);
+            Gauge.builder("booking.queue.consumers", consumerCount, AtomicLong::get)
+                    .description("Consumers attached to the queue")
+                    .tag("queue", queue)
+                    .register(registry);
+            TimeGauge.builder("booking.queue.lag", lagMs, TimeUnit.MILLISECONDS, AtomicLong::get)
+                    .description("Queue wait of the last message consumed, 0 once the queue is empty")
+                    .tag("queue", queue)
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.queue-monitor.interval-ms:10000}")
+    public void refresh() {
+        depths.forEach((queue, depth) -> {
+            try {
+                QueueInformation info = amqpAdmin.getQueueInfo(queue);
+                if (info != null) {
+                    depth.set(info.getMessageCount());
+                    consumers.get(queue).set(info.getConsumerCount());
+                    // Nothing left to consume means nothing is waiting
+                    if (info.getMessageCount() == 0) {
+                        lags.get(queue).set(0);
+                    }
+                }
+            } catch (Exception e) {
+                log.debug("Could not read depth of queue {}: {}", queue, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Records how long a message waited between publish and consumption. Messages
+     * published without a timestamp (older producers) are skipped.
+     */
+    public void recordWait(String queue, Date publishedAt) {
+        if (publishedAt == null) {
+            return;
+        }
+        long waitedMs = Math.max(0, System.currentTimeMillis() - publishedAt.getTime());
+        AtomicLong lagMs = lags.get(queue);
+        if (lagMs != null) {
+            lagMs.set(waitedMs);
+        }
+        Timer.builder("booking.queue.wait")
+                .description("Time between publish and consumption")
+                .tag("queue", queue)
+                .register(registry)
+                .record(Duration.ofMillis(waitedMs));
+    }
+
+    /**
+     * Last observed depth, or 0 for an unmonitored queue.
+     */
+    public long depth(String queue) {
+        AtomicLong depth = depths.get(queue);
+        return depth != null ? depth.get() : 0;
+    }
+
+    /**
+     * Current consumer lag, or zero for an unmonitored or empty queue.
+     */
+    public Duration lag(String queue) {
+        AtomicLong lagMs = lags.get(queue);
+        return Duration.ofMillis(lagMs != null ? lagMs.get() : 0);
+    }
+}
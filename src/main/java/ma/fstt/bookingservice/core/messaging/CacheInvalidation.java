@@ -0,0 +1,14 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tells the other replicas to drop the entities one commit changed from their
+ * second-level cache.
+ *
+ * @param ids identifiers in their string form, by Hibernate entity name (fully
+ *            qualified class name)
+ */
+public record CacheInvalidation(Map<String, List<String>> ids) {
+}
@@ -0,0 +1,137 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
+import ma.fstt.bookingservice.domain.entity.Property;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the per-replica second-level caches coherent. Hibernate already evicts
+ * locally on write; the ids of the cached entities a transaction updates or
+ * deletes are collected as it flushes, and once it commits they go out as one
+ * message on the {@code booking.cache.invalidation} exchange, through
+ * {@link BookingPublisher} so the committing thread never waits on the broker.
+ * The other replicas evict their copies.
+ *
+ * Properties are also written by property-service, which does not broadcast;
+ * their regions carry a TTL (see application.conf) to bound that staleness.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationRelay implements PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String ORIGIN_HEADER = "x-origin";
+    private static final String INSTANCE_ID = UUID.randomUUID().toString();
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final BookingPublisher publisher;
+    private final BookingMessageEncoder messageEncoder;
+    // Ids changed in each session's current transaction, by entity name
+    private final Map<SharedSessionContractImplementor, Map<String, Set<String>>> changed = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = sessionFactory().getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+    public void onInvalidation(CacheInvalidation invalidation,
+            @Header(name = ORIGIN_HEADER, required = false) String origin) {
+        if (INSTANCE_ID.equals(origin)) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = sessionFactory();
+        invalidation.ids().forEach((entity, ids) -> {
+            EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entity);
+            if (persister == null) {
+                log.warn("Ignoring cache invalidation for unknown entity {}", entity);
+                return;
+            }
+            for (String id : ids) {
+                sessionFactory.getCache().evictEntityData(persister.getEntityName(),
+                        persister.getIdentifierMapping().getJavaType().fromString(id));
+            }
+            // The only cached query, the ownership lookup, reads properties alone
+            if (Property.class.getName().equals(persister.getEntityName())) {
+                sessionFactory.getCache().evictDefaultQueryRegion();
+            }
+            log.debug("Evicted {} {} on remote change", ids.size(), persister.getEntityName());
+        });
+    }
+
+    private void collect(EventSource session, EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        changed.computeIfAbsent(session, s -> {
+            // First change of this transaction: send them all once it completes
+            session.getActionQueue().registerProcess((success, completed) -> {
+                Map<String, Set<String>> ids = changed.remove(completed);
+                if (success && ids != null) {
+                    broadcast(ids);
+                }
+            });
+            return new LinkedHashMap<>();
+        }).computeIfAbsent(persister.getEntityName(), entity -> new LinkedHashSet<>()).add(String.valueOf(id));
+    }
+
+    private void broadcast(Map<String, Set<String>> changedIds) {
+        Map<String, List<String>> ids = new LinkedHashMap<>();
+        changedIds.forEach((entity, entityIds) -> ids.put(entity, new ArrayList<>(entityIds)));
+        Message message = messageEncoder.encode(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE,
+                new CacheInvalidation(ids));
+        message.getMessageProperties().setHeader(ORIGIN_HEADER, INSTANCE_ID);
+        if (!publisher.broadcast(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE, message)) {
+            // Other replicas keep the stale entries until their region TTL expires
+            log.warn("Publish buffer full, cache invalidation for {} not broadcast", ids.keySet());
+        }
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+}
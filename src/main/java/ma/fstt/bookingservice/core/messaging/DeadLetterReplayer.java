@@ -0,0 +1,80 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves parked messages from a dead-letter queue back onto their work queue,
+ * once whatever made them fail has been fixed.
+ *
+ * Each message is acknowledged on the dead-letter queue only once the broker has
+ * confirmed its republished copy, so a failure mid-way, or a publish the broker
+ * nacks or does not confirm within {@code replay-confirm-timeout}, leaves it
+ * parked rather than lost, and the replay stops with an error. Replayed
+ * booking requests keep their message id, so one that did create a booking
+ * before being parked is dropped by the consumer's idempotency check.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterReplayer {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry registry;
+
+    @Value("${booking.messaging.replay-confirm-timeout:10s}")
+    private Duration confirmTimeout;
+
+    /**
+     * Replays up to {@code limit} messages parked for {@code queue}.
+     *
+     * @return how many were replayed
+     */
+    public int replay(String queue, int limit) {
+        if (!RabbitMQConfig.DEAD_LETTERED_QUEUES.contains(queue)) {
+            throw new IllegalArgumentException("No dead-letter queue for " + queue);
+        }
+        String parkingLot = queue + RabbitMQConfig.DEAD_LETTER_SUFFIX;
+        AtomicInteger count = new AtomicInteger();
+        try {
+            rabbitTemplate.execute(channel -> {
+                // A no-op when the connection factory already has publisher confirms on
+                channel.confirmSelect();
+                while (count.get() < limit) {
+                    GetResponse parked = channel.basicGet(parkingLot, false);
+                    if (parked == null) {
+                        break;
+                    }
+                    // Fresh timestamp so booking.queue.wait measures the replay, not the time parked
+                    AMQP.BasicProperties properties = parked.getProps().builder().timestamp(new Date()).build();
+                    channel.basicPublish("", queue, properties, parked.getBody());
+                    // Throws on a nack or timeout; closing the channel then puts the message back
+                    channel.waitForConfirmsOrDie(confirmTimeout.toMillis());
+                    channel.basicAck(parked.getEnvelope().getDeliveryTag(), false);
+                    count.incrementAndGet();
+                }
+                return null;
+            });
+        } finally {
+            Counter.builder("booking.messaging.replayed")
+                    .description("Dead-lettered messages put back on their work queue")
+                    .tag("queue", queue)
+                    .register(registry)
+                    .increment(count.get());
+            log.info("Replayed {} dead-lettered messages onto {}", count.get(), queue);
+        }
+        return count.get();
+    }
+}
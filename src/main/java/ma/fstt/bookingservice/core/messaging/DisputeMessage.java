@@ -0,0 +1,10 @@
+package ma.fstt.bookingservice.core.messaging;
+
+/**
+ * Payload of {@code booking.dispute}: the tenant or the owner reports a problem
+ * with a stay.
+ */
+public record DisputeMessage(
+        Long bookingId,
+        Long userId) {
+}
@@ -0,0 +1,11 @@
+package ma.fstt.bookingservice.core.messaging;
+
+/**
+ * Payload of {@code booking.negotiation}: the owner's answer to a tenant's price
+ * offer.
+ */
+public record NegotiationResponseMessage(
+        Long bookingId,
+        Long ownerId,
+        boolean accepted) {
+}
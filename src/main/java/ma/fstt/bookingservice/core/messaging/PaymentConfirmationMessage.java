@@ -0,0 +1,10 @@
+package ma.fstt.bookingservice.core.messaging;
+
+/**
+ * Payload of {@code booking.payment}: the rent for a booking has been paid, in
+ * the transaction {@code onChainTxHash}.
+ */
+public record PaymentConfirmationMessage(
+        Long bookingId,
+        String onChainTxHash) {
+}
@@ -0,0 +1,88 @@
+package ma.fstt.bookingservice.core.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+
+/**
+ * Rent and negotiation math shared by booking creation, price validation and
+ * booking updates.
+ */
+public final class BookingPricing {
+
+    public static final Duration NEGOTIATION_WINDOW = Duration.ofHours(24);
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal DEFAULT_MIN_RATIO = BigDecimal.valueOf(0.80);
+
+    private BookingPricing() {
+    }
+
+    /**
+     * Prices a stay. Without a negotiation percentage from the property, tenants
+     * may offer down to 80% of the final rent.
+     */
+    public static PriceQuote quote(BigDecimal pricePerNight, int nights, Boolean discountEnabled,
+            Double negotiationPercentage) {
+        BigDecimal baseRent = pricePerNight.multiply(BigDecimal.valueOf(nights))
+                .setScale(2, RoundingMode.HALF_UP);
+
+        int discountPercent = longStayDiscount(nights, discountEnabled);
+        BigDecimal discountAmount = baseRent.multiply(BigDecimal.valueOf(discountPercent))
+                .divide(HUNDRED, 2, RoundingMode.HALF_UP);
+        BigDecimal finalRent = baseRent.subtract(discountAmount);
+
+        boolean capped = negotiationPercentage != null && negotiationPercentage > 0;
+        BigDecimal minRatio = capped
+                ? BigDecimal.ONE.subtract(BigDecimal.valueOf(negotiationPercentage)
+                        .divide(HUNDRED, 4, RoundingMode.HALF_UP))
+                : DEFAULT_MIN_RATIO;
+        BigDecimal minPrice = finalRent.multiply(minRatio).setScale(2, RoundingMode.HALF_UP);
+
+        return new PriceQuote(baseRent, discountPercent, finalRent, minPrice, capped);
+    }
+
+    public static int longStayDiscount(int nights, Boolean discountEnabled) {
+        if (discountEnabled == null || !discountEnabled) {
+            return 0;
+        }
+        if (nights > 30)
+            return 20;
+        if (nights > 15)
+            return 15;
+        if (nights > 5)
+            return 10;
+        return 0;
+    }
+
+    /**
+     * @param capped whether {@code minPrice} comes from the property's own
+     *               negotiation percentage rather than the default floor
+     */
+    public record PriceQuote(BigDecimal baseRent, int discountPercent, BigDecimal finalRent, BigDecimal minPrice,
+            boolean capped) {
+
+        /**
+         * An offer can open a negotiation when it lies between the minimum price
+         * and the final rent.
+         */
+        public boolean accepts(BigDecimal requestedPrice) {
+            return requestedPrice.compareTo(minPrice) >= 0 && requestedPrice.compareTo(finalRent) <= 0;
+        }
+
+        public boolean isBelowMinimum(BigDecimal requestedPrice) {
+            return requestedPrice.compareTo(minPrice) < 0;
+        }
+
+        /**
+         * Discount the offer represents against the base rent, in whole percent.
+         */
+        public int negotiationPercent(BigDecimal requestedPrice) {
+            return baseRent.subtract(requestedPrice)
+                    .divide(baseRent, 4, RoundingMode.HALF_UP)
+                    .multiply(HUNDRED)
+                    .setScale(0, RoundingMode.HALF_UP)
+                    .intValue();
+        }
+    }
+}
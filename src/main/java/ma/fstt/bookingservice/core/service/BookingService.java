@@ -1,35 +1,61 @@
 package ma.fstt.bookingservice.core.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ma.fstt.bookingservice.api.dto.BookingRequest;
 import ma.fstt.bookingservice.api.dto.PropertyInfo;
 import ma.fstt.bookingservice.api.dto.UpdateBookingRequest;
+import ma.fstt.bookingservice.core.messaging.BookingChangedEvent;
+import ma.fstt.bookingservice.core.service.BookingPricing.PriceQuote;
 import ma.fstt.bookingservice.domain.entity.Booking;
+import ma.fstt.bookingservice.domain.entity.IdempotencyKey;
 import ma.fstt.bookingservice.domain.entity.Property;
 import ma.fstt.bookingservice.domain.repository.BookingRepository;
+import ma.fstt.bookingservice.domain.repository.BookingSummary;
+import ma.fstt.bookingservice.domain.repository.BookingWatermark;
 import ma.fstt.bookingservice.domain.repository.PropertyRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final Map<String, Object> UNKNOWN_USER = Map.of(
+            "firstName", "Unknown", "lastName", "User", "email", "unknown@example.com");
+
     private final BookingRepository bookingRepository;
     private final PropertyRepository propertyRepository;
-    private final org.springframework.web.client.RestTemplate restTemplate = new org.springframework.web.client.RestTemplate();
+    private final ApplicationEventPublisher eventPublisher;
+    private final org.springframework.web.client.RestTemplate restTemplate;
+    private final EnrichmentFanOut enrichmentFanOut;
+    private final IdempotencyStore idempotencyStore;
 
     @org.springframework.beans.factory.annotation.Value("${property.service.url:http://localhost:8081}")
     private String propertyServiceUrl;
@@ -37,81 +63,47 @@ public class BookingService {
     @org.springframework.beans.factory.annotation.Value("${user.service.url:http://localhost:8082}")
     private String userServiceUrl;
 
+    /**
+     * A new booking together with the property-service answer it was priced from,
+     * so callers can use the owner and deposit without asking again.
+     */
+    public record CreatedBooking(Booking booking, PropertyInfo property) {
+    }
+
+    @Timed(value = "booking.create", description = "Booking creation including the property-service lookup")
     @Transactional
-    public Booking createBooking(BookingRequest request) {
-        log.info("Creating booking for userId={}, propertyId={}", request.getUserId(), request.getPropertyId());
+    public CreatedBooking createBooking(BookingRequest request, String idempotencyKey) {
+        log.debug("Creating booking for userId={}, propertyId={}", request.getUserId(), request.getPropertyId());
+
+        // Claimed before the property-service call so a redelivered duplicate fails without one
+        IdempotencyKey claim = idempotencyKey != null ? idempotencyStore.claim(idempotencyKey) : null;
 
         PropertyInfo propertyInfo = getPropertyInfoFromPropertyService(request.getPropertyId());
-        BigDecimal pricePerNight = propertyInfo.getPricePerNight();
 
         LocalDate checkIn = LocalDate.parse(request.getCheckInDate());
         LocalDate checkOut = LocalDate.parse(request.getCheckOutDate());
         int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
 
-        BigDecimal baseRent = pricePerNight.multiply(BigDecimal.valueOf(nights))
-                .setScale(2, RoundingMode.HALF_UP);
-
-        Integer discountPercent = calculateDiscount(nights, propertyInfo.getDiscountEnabled());
-        BigDecimal discountAmount = baseRent.multiply(BigDecimal.valueOf(discountPercent))
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal finalRent = baseRent.subtract(discountAmount);
+        PriceQuote quote = BookingPricing.quote(propertyInfo.getPricePerNight(), nights,
+                propertyInfo.getDiscountEnabled(), propertyInfo.getNegotiationPercentage());
+        BigDecimal finalRent = quote.finalRent();
 
         String status = "PENDING_PAYMENT";
         Integer requestedNegotiationPercent = null;
         Instant negotiationExpiresAt = null;
 
-        if (request.getRequestedPrice() != null) {
-            // Get negotiation percentage from property
-            Double negotiationPercentage = propertyInfo.getNegotiationPercentage();
-
-            if (negotiationPercentage != null && negotiationPercentage > 0) {
-                BigDecimal percentageDiscount = BigDecimal.valueOf(negotiationPercentage)
-                        .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-                BigDecimal minPrice = finalRent.multiply(BigDecimal.ONE.subtract(percentageDiscount))
-                        .setScale(2, RoundingMode.HALF_UP);
-
-                // Check if requested price is acceptable
-                if (request.getRequestedPrice().compareTo(minPrice) >= 0 &&
-                        request.getRequestedPrice().compareTo(finalRent) <= 0) {
-                    // Price is acceptable - set status to PENDING_NEGOTIATION
-                    status = "PENDING_NEGOTIATION";
-                    finalRent = request.getRequestedPrice();
-                    BigDecimal discount = baseRent.subtract(request.getRequestedPrice());
-                    requestedNegotiationPercent = discount.divide(baseRent, 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100))
-                            .setScale(0, RoundingMode.HALF_UP)
-                            .intValue();
-                    negotiationExpiresAt = Instant.now().plusSeconds(24 * 60 * 60);
-                    log.info("Price accepted! Negotiation: {}%, Status set to: PENDING_NEGOTIATION",
-                            requestedNegotiationPercent);
-                } else if (request.getRequestedPrice().compareTo(minPrice) < 0) {
-                    log.warn("Requested price is too low, using final rent instead. Minimum required: {}", minPrice);
-                    status = "PENDING_PAYMENT";
-                    requestedNegotiationPercent = null;
-                    negotiationExpiresAt = null;
-                } else {
-                    status = "PENDING_PAYMENT";
-                    requestedNegotiationPercent = null;
-                    negotiationExpiresAt = null;
-                    log.info("Price is higher than final rent, using final rent.");
-                }
+        BigDecimal requestedPrice = request.getRequestedPrice();
+        if (requestedPrice != null) {
+            if (quote.accepts(requestedPrice)) {
+                status = "PENDING_NEGOTIATION";
+                finalRent = requestedPrice;
+                requestedNegotiationPercent = quote.negotiationPercent(requestedPrice);
+                negotiationExpiresAt = Instant.now().plus(BookingPricing.NEGOTIATION_WINDOW);
+                log.debug("Offer accepted for negotiation at {}%", requestedNegotiationPercent);
+            } else if (quote.isBelowMinimum(requestedPrice)) {
+                log.debug("Offer below minimum {}, using final rent", quote.minPrice());
             } else {
-                BigDecimal minPrice = finalRent.multiply(BigDecimal.valueOf(0.80))
-                        .setScale(2, RoundingMode.HALF_UP);
-                if (request.getRequestedPrice().compareTo(minPrice) >= 0 &&
-                        request.getRequestedPrice().compareTo(finalRent) <= 0) {
-                    // Price is acceptable - set status to PENDING_NEGOTIATION
-                    status = "PENDING_NEGOTIATION";
-                    finalRent = request.getRequestedPrice();
-                    BigDecimal discount = baseRent.subtract(request.getRequestedPrice());
-                    requestedNegotiationPercent = discount.divide(baseRent, 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100))
-                            .setScale(0, RoundingMode.HALF_UP)
-                            .intValue();
-                    negotiationExpiresAt = Instant.now().plusSeconds(24 * 60 * 60);
-                    log.info("Price accepted! Negotiation: {}%, Status set to: PENDING_NEGOTIATION",
-                            requestedNegotiationPercent);
-                }
+                log.debug("Offer above final rent, using final rent");
             }
         }
 
@@ -122,57 +114,42 @@ public class BookingService {
                 .checkOutDate(checkOut)
                 .totalPrice(finalRent.doubleValue())
                 .status(status)
-                .longStayDiscountPercent(discountPercent)
+                .longStayDiscountPercent(quote.discountPercent())
                 .requestedNegotiationPercent(requestedNegotiationPercent)
                 .negotiationExpiresAt(negotiationExpiresAt)
                 .build();
 
         bookingRepository.save(booking);
-        log.info("Booking saved with id: {}", booking.getId());
-
-        return booking;
+        if (claim != null) {
+            claim.setBookingId(booking.getId());
+        }
+        log.atInfo()
+                .addKeyValue("bookingId", booking.getId())
+                .addKeyValue("propertyId", booking.getPropertyId())
+                .addKeyValue("userId", booking.getUserId())
+                .addKeyValue("status", status)
+                .log("Booking {} created with status {}", booking.getId(), status);
+        publishChange(booking, propertyInfo.getOwnerId(), null);
+
+        return new CreatedBooking(booking, propertyInfo);
     }
 
     public String validateRequestedPrice(BookingRequest request) {
         try {
             PropertyInfo propertyInfo = getPropertyInfoFromPropertyService(request.getPropertyId());
-            BigDecimal pricePerNight = propertyInfo.getPricePerNight();
 
             LocalDate checkIn = LocalDate.parse(request.getCheckInDate());
             LocalDate checkOut = LocalDate.parse(request.getCheckOutDate());
             int nights = (int) ChronoUnit.DAYS.between(checkIn, checkOut);
 
-            BigDecimal baseRent = pricePerNight.multiply(BigDecimal.valueOf(nights))
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            Integer discountPercent = calculateDiscount(nights, propertyInfo.getDiscountEnabled());
-            BigDecimal discountAmount = baseRent.multiply(BigDecimal.valueOf(discountPercent))
-                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-
-            BigDecimal finalRent = baseRent.subtract(discountAmount);
-
-            Double negotiationPercentage = propertyInfo.getNegotiationPercentage();
+            PriceQuote quote = BookingPricing.quote(propertyInfo.getPricePerNight(), nights,
+                    propertyInfo.getDiscountEnabled(), propertyInfo.getNegotiationPercentage());
 
-            if (negotiationPercentage != null && negotiationPercentage > 0) {
-                BigDecimal percentageDiscount = BigDecimal.valueOf(negotiationPercentage)
-                        .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-                BigDecimal minPrice = finalRent.multiply(BigDecimal.ONE.subtract(percentageDiscount))
-                        .setScale(2, RoundingMode.HALF_UP);
-
-                if (request.getRequestedPrice().compareTo(minPrice) < 0) {
-                    return "Price is not acceptable. Please increase it.";
-                }
-
-                if (request.getRequestedPrice().compareTo(finalRent) > 0) {
-                    return "Price is not acceptable. Please increase it.";
-                }
-            } else {
-                BigDecimal minPrice = finalRent.multiply(BigDecimal.valueOf(0.80))
-                        .setScale(2, RoundingMode.HALF_UP);
-
-                if (request.getRequestedPrice().compareTo(minPrice) < 0) {
-                    return "Price is not acceptable. Please increase it.";
-                }
+            // Offers above the final rent are only refused when the property sets its own negotiation limit
+            BigDecimal requestedPrice = request.getRequestedPrice();
+            if (quote.isBelowMinimum(requestedPrice)
+                    || (quote.capped() && requestedPrice.compareTo(quote.finalRent()) > 0)) {
+                return "Price is not acceptable. Please increase it.";
             }
 
             return null;
@@ -182,25 +159,13 @@ public class BookingService {
         }
     }
 
-    private Integer calculateDiscount(int nights, Boolean discountEnabled) {
-        if (discountEnabled == null || !discountEnabled) {
-            return 0;
-        }
-        if (nights > 30)
-            return 20;
-        if (nights > 15)
-            return 15;
-        if (nights > 5)
-            return 10;
-        return 0;
-    }
-
     private PropertyInfo getPropertyInfoFromPropertyService(String propertyId) {
         try {
-            String url = propertyServiceUrl + "/api/v1/properties/" + propertyId + "/booking-info";
-            log.info("Calling property-service for property info: {}", url);
+            log.debug("Calling property-service for property info: {}", propertyId);
 
-            PropertyInfo propertyInfo = restTemplate.getForObject(url, PropertyInfo.class);
+            // URI template rather than concatenation, so http.client.requests is tagged per endpoint, not per id
+            PropertyInfo propertyInfo = restTemplate.getForObject(
+                    propertyServiceUrl + "/api/v1/properties/{id}/booking-info", PropertyInfo.class, propertyId);
 
             if (propertyInfo == null) {
                 log.error("Property info is null from property-service");
@@ -216,11 +181,12 @@ public class BookingService {
         } catch (org.springframework.web.client.HttpClientErrorException e) {
             log.error("HTTP Error fetching property info from property-service: {} - {}", e.getStatusCode(),
                     e.getMessage());
+            // Cause kept so the booking consumer can tell a missing property from an outage
             throw new RuntimeException("Failed to fetch property info from property-service: " + e.getStatusCode()
-                    + " - " + e.getMessage());
+                    + " - " + e.getMessage(), e);
         } catch (Exception e) {
             log.error("Error fetching property info from property-service: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to fetch property info from property-service: " + e.getMessage());
+            throw new RuntimeException("Failed to fetch property info from property-service: " + e.getMessage(), e);
         }
     }
 
@@ -228,64 +194,58 @@ public class BookingService {
         return getPropertyInfoFromPropertyService(propertyId);
     }
 
+    /**
+     * Builds the page request for the list endpoints, clamping the page size so a
+     * single call can never load an unbounded result set.
+     */
+    static Pageable pageOf(int page, int size) {
+        int boundedSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        return PageRequest.of(Math.max(page, 0), boundedSize);
+    }
+
+    @Transactional(readOnly = true)
+    public BookingWatermark getTenantWatermark(Long userId) {
+        return bookingRepository.getWatermarkByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public BookingWatermark getOwnerWatermark(Long ownerId) {
+        return bookingRepository.getWatermarkByOwnerId(ownerId);
+    }
+
+    @Transactional(readOnly = true)
+    public BookingWatermark getPropertyWatermark(String propertyId) {
+        return bookingRepository.getWatermarkByPropertyId(propertyId);
+    }
+
     public Long getLastBookingId() {
-        List<Booking> bookings = bookingRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
-        if (bookings.isEmpty()) {
-            return null;
-        }
-        return bookings.get(0).getId();
+        return bookingRepository.findLastId();
     }
 
-    public List<Booking> getBookingsByUserId(Long userId) {
-        return bookingRepository.findAll().stream()
-                .filter(booking -> booking.getUserId().equals(userId))
-                .sorted((a, b) -> b.getId().compareTo(a.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Slice<BookingSummary> getBookingsByUserId(Long userId, int page, int size) {
+        return bookingRepository.findSummariesByUserId(userId, pageOf(page, size));
     }
 
-    public List<Booking> getPendingBookingsByUserId(Long userId) {
-        return bookingRepository.findAll().stream()
-                .filter(booking -> booking.getUserId().equals(userId) &&
-                        (booking.getStatus().equals("PENDING_NEGOTIATION") ||
-                        // Support old status: PENDING with requestedNegotiationPercent
-                                (booking.getStatus().equals("PENDING")
-                                        && booking.getRequestedNegotiationPercent() != null)))
-                .sorted((a, b) -> b.getId().compareTo(a.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Slice<BookingSummary> getPendingBookingsByUserId(Long userId, int page, int size) {
+        return bookingRepository.findPendingSummariesByUserId(userId, pageOf(page, size));
     }
 
-    public List<Booking> getAwaitingPaymentBookingsByUserId(Long userId) {
-        return bookingRepository.findAll().stream()
-                .filter(booking -> booking.getUserId().equals(userId) &&
-                        (booking.getStatus().equals("PENDING_PAYMENT") ||
-                        // Support old status: PENDING without requestedNegotiationPercent
-                                (booking.getStatus().equals("PENDING") &&
-                                        (booking.getRequestedNegotiationPercent() == null
-                                                || booking.getRequestedNegotiationPercent() == 0))))
-                .sorted((a, b) -> b.getId().compareTo(a.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Slice<BookingSummary> getAwaitingPaymentBookingsByUserId(Long userId, int page, int size) {
+        return bookingRepository.findAwaitingPaymentSummariesByUserId(userId, pageOf(page, size));
     }
 
-    public List<Booking> getBookingsByOwnerId(Long ownerId) {
-        return bookingRepository.findAll().stream()
-                .filter(booking -> {
-                    Property property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-                    return property != null && property.getOwnerId().equals(ownerId);
-                })
-                .sorted((a, b) -> b.getId().compareTo(a.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Slice<BookingSummary> getBookingsByOwnerId(Long ownerId, int page, int size) {
+        return bookingRepository.findSummariesByOwnerId(ownerId, pageOf(page, size));
     }
 
-    public List<Booking> getPendingNegotiationsByOwnerId(Long ownerId) {
-        return bookingRepository.findAll().stream()
-                .filter(booking -> {
-                    Property property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-                    return property != null &&
-                            property.getOwnerId().equals(ownerId) &&
-                            booking.getStatus().equals("PENDING_NEGOTIATION");
-                })
-                .sorted((a, b) -> b.getId().compareTo(a.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Slice<BookingSummary> getPendingNegotiationsByOwnerId(Long ownerId, int page, int size) {
+        return bookingRepository.findSummariesByOwnerIdAndStatus(ownerId, "PENDING_NEGOTIATION",
+                pageOf(page, size));
     }
 
     @Transactional
@@ -304,11 +264,14 @@ public class BookingService {
             throw new RuntimeException("This booking does not have a negotiation request");
         }
 
+        String previousStatus = booking.getStatus();
         booking.setRequestedNegotiationPercent(null);
         booking.setNegotiationExpiresAt(null);
         booking.setStatus("PENDING_PAYMENT");
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved, property.getOwnerId(), previousStatus);
+        return saved;
     }
 
     @Transactional
@@ -327,30 +290,23 @@ public class BookingService {
             throw new RuntimeException("This booking does not have a negotiation request");
         }
 
+        String previousStatus = booking.getStatus();
         booking.setStatus("NEGOTIATION_REJECTED");
         booking.setNegotiationExpiresAt(null);
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved, property.getOwnerId(), previousStatus);
+        return saved;
     }
 
-    public List<Booking> getConfirmedBookingsByOwnerId(Long ownerId) {
-        return bookingRepository.findAll().stream()
-                .filter(booking -> {
-                    Property property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-                    return property != null &&
-                            property.getOwnerId().equals(ownerId) &&
-                            booking.getStatus().equals("CONFIRMED");
-                })
-                .sorted((a, b) -> b.getId().compareTo(a.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Slice<BookingSummary> getConfirmedBookingsByOwnerId(Long ownerId, int page, int size) {
+        return bookingRepository.findSummariesByOwnerIdAndStatus(ownerId, "CONFIRMED", pageOf(page, size));
     }
 
-    public List<Booking> getConfirmedBookingsByPropertyId(String propertyId) {
-        return bookingRepository.findAll().stream()
-                .filter(booking -> booking.getPropertyId().equals(propertyId) &&
-                        booking.getStatus().equals("CONFIRMED"))
-                .sorted((a, b) -> b.getId().compareTo(a.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Slice<BookingSummary> getConfirmedBookingsByPropertyId(String propertyId, int page, int size) {
+        return bookingRepository.findSummariesByPropertyIdAndStatus(propertyId, "CONFIRMED", pageOf(page, size));
     }
 
     @Transactional
@@ -362,8 +318,9 @@ public class BookingService {
         boolean isOwner = false;
 
         if (!isTenant && booking.getPropertyId() != null) {
-            Property property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-            isOwner = property != null && property.getOwnerId().equals(userId);
+            isOwner = propertyRepository.findOwnerIdById(booking.getPropertyId())
+                    .map(userId::equals)
+                    .orElse(false);
         }
 
         if (!isTenant && !isOwner) {
@@ -377,8 +334,11 @@ public class BookingService {
             throw new RuntimeException("Only CONFIRMED or TENANT_CHECKED_OUT bookings can be reported as dispute");
         }
 
+        String previousStatus = booking.getStatus();
         booking.setStatus("IN_DISPUTE");
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved, previousStatus);
+        return saved;
     }
 
     public Booking getBookingById(Long id) {
@@ -403,98 +363,48 @@ public class BookingService {
 
         int nights = (int) ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate());
 
-        BigDecimal pricePerNight = BigDecimal.valueOf(property.getPrice());
-        BigDecimal baseRent = pricePerNight.multiply(BigDecimal.valueOf(nights))
-                .setScale(2, RoundingMode.HALF_UP);
-
         PropertyInfo propertyInfo = getPropertyInfoFromPropertyService(booking.getPropertyId());
 
-        Integer discountPercent = calculateDiscount(nights,
-                propertyInfo != null ? propertyInfo.getDiscountEnabled() : false);
-        BigDecimal discountAmount = baseRent.multiply(BigDecimal.valueOf(discountPercent))
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        BigDecimal finalRent = baseRent.subtract(discountAmount);
+        PriceQuote quote = BookingPricing.quote(BigDecimal.valueOf(property.getPrice()), nights,
+                propertyInfo != null ? propertyInfo.getDiscountEnabled() : false,
+                propertyInfo != null ? propertyInfo.getNegotiationPercentage() : null);
+        BigDecimal finalRent = quote.finalRent();
 
         String status;
         Integer requestedNegotiationPercent = null;
         Instant negotiationExpiresAt = null;
 
-        boolean isRejectedNegotiation = booking.getStatus().equals("NEGOTIATION_REJECTED");
-
-        if (request.getRequestedPrice() != null) {
-            Double negotiationPercentage = propertyInfo != null ? propertyInfo.getNegotiationPercentage() : null;
-
-            if (negotiationPercentage != null && negotiationPercentage > 0) {
-                BigDecimal percentageDiscount = BigDecimal.valueOf(negotiationPercentage)
-                        .divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-                BigDecimal minPrice = finalRent.multiply(BigDecimal.ONE.subtract(percentageDiscount))
-                        .setScale(2, RoundingMode.HALF_UP);
-
-                // Check if requested price is acceptable
-                if (request.getRequestedPrice().compareTo(minPrice) >= 0 &&
-                        request.getRequestedPrice().compareTo(finalRent) <= 0) {
-                    // Price is acceptable - set status to PENDING_NEGOTIATION
-                    status = "PENDING_NEGOTIATION";
-                    finalRent = request.getRequestedPrice();
-                    BigDecimal discount = baseRent.subtract(request.getRequestedPrice());
-                    requestedNegotiationPercent = discount.divide(baseRent, 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100))
-                            .setScale(0, RoundingMode.HALF_UP)
-                            .intValue();
-                    negotiationExpiresAt = Instant.now().plusSeconds(24 * 60 * 60);
-                    log.info("Price accepted! Negotiation: {}%, Status set to: PENDING_NEGOTIATION",
-                            requestedNegotiationPercent);
-                } else if (request.getRequestedPrice().compareTo(minPrice) < 0) {
-                    log.warn("Requested price is too low. Minimum required: {}, Requested: {}", minPrice,
-                            request.getRequestedPrice());
-                    throw new RuntimeException("Price is not acceptable. Please increase it. Minimum: " + minPrice);
-                } else {
-                    status = "PENDING_PAYMENT";
-                    requestedNegotiationPercent = null;
-                    negotiationExpiresAt = null;
-                    log.info("Price is higher than final rent, using final rent.");
-                }
-            } else {
-                BigDecimal minPrice = finalRent.multiply(BigDecimal.valueOf(0.80))
-                        .setScale(2, RoundingMode.HALF_UP);
-
-                if (request.getRequestedPrice().compareTo(minPrice) >= 0 &&
-                        request.getRequestedPrice().compareTo(finalRent) <= 0) {
-                    status = "PENDING_NEGOTIATION";
-                    finalRent = request.getRequestedPrice();
-                    BigDecimal discount = baseRent.subtract(request.getRequestedPrice());
-                    requestedNegotiationPercent = discount.divide(baseRent, 4, RoundingMode.HALF_UP)
-                            .multiply(BigDecimal.valueOf(100))
-                            .setScale(0, RoundingMode.HALF_UP)
-                            .intValue();
-                    negotiationExpiresAt = Instant.now().plusSeconds(24 * 60 * 60);
-                    log.info("Price accepted! Negotiation: {}%, Status set to: PENDING_NEGOTIATION",
-                            requestedNegotiationPercent);
-                } else if (request.getRequestedPrice().compareTo(minPrice) < 0) {
-                    throw new RuntimeException("Price is not acceptable. Please increase it. Minimum: " + minPrice);
-                } else {
-                    status = "PENDING_PAYMENT";
-                    requestedNegotiationPercent = null;
-                    negotiationExpiresAt = null;
-                }
-            }
-        } else {
-            if (isRejectedNegotiation) {
-                status = "NEGOTIATION_REJECTED";
+        BigDecimal requestedPrice = request.getRequestedPrice();
+        if (requestedPrice != null) {
+            if (quote.accepts(requestedPrice)) {
+                status = "PENDING_NEGOTIATION";
+                finalRent = requestedPrice;
+                requestedNegotiationPercent = quote.negotiationPercent(requestedPrice);
+                negotiationExpiresAt = Instant.now().plus(BookingPricing.NEGOTIATION_WINDOW);
+                log.debug("Offer accepted for negotiation at {}%", requestedNegotiationPercent);
+            } else if (quote.isBelowMinimum(requestedPrice)) {
+                log.debug("Offer {} below minimum {}", requestedPrice, quote.minPrice());
+                throw new RuntimeException("Price is not acceptable. Please increase it. Minimum: " + quote.minPrice());
             } else {
                 status = "PENDING_PAYMENT";
+                log.debug("Offer above final rent, using final rent");
             }
-            requestedNegotiationPercent = null;
-            negotiationExpiresAt = null;
+        } else if (booking.getStatus().equals("NEGOTIATION_REJECTED")) {
+            status = "NEGOTIATION_REJECTED";
+        } else {
+            status = "PENDING_PAYMENT";
         }
 
+        String previousStatus = booking.getStatus();
         booking.setTotalPrice(finalRent.doubleValue());
         booking.setStatus(status);
-        booking.setLongStayDiscountPercent(discountPercent);
+        booking.setLongStayDiscountPercent(quote.discountPercent());
         booking.setRequestedNegotiationPercent(requestedNegotiationPercent);
         booking.setNegotiationExpiresAt(negotiationExpiresAt);
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved, property.getOwnerId(), previousStatus);
+        return saved;
     }
 
     @Transactional
@@ -514,14 +424,21 @@ public class BookingService {
             throw new RuntimeException("This booking cannot be cancelled. Status: " + booking.getStatus());
         }
 
+        String previousStatus = booking.getStatus();
         booking.setStatus("CANCELLED_BY_TENANT");
         booking.setRequestedNegotiationPercent(null);
         booking.setNegotiationExpiresAt(null);
 
-        log.info("Booking cancelled by tenant with id: {}", id);
-        return bookingRepository.save(booking);
+        log.atInfo()
+                .addKeyValue("bookingId", id)
+                .addKeyValue("status", "CANCELLED_BY_TENANT")
+                .log("Booking {} cancelled by tenant", id);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved, previousStatus);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Booking> getCurrentBookingByUserId(Long userId) {
         LocalDate today = LocalDate.now();
         return bookingRepository.findAll().stream()
@@ -534,25 +451,9 @@ public class BookingService {
                 .findFirst();
     }
 
-    public List<Booking> getCurrentBookingsByOwnerId(Long ownerId) {
-        LocalDate today = LocalDate.now();
-        return bookingRepository.findAll().stream()
-                .filter(booking -> {
-                    Property property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-                    return property != null &&
-                            property.getOwnerId().equals(ownerId) &&
-                            !booking.getCheckInDate().isAfter(today) &&
-                            !booking.getCheckOutDate().isBefore(today) &&
-                            (booking.getStatus().equals("CONFIRMED") ||
-                                    booking.getStatus().equals("TENANT_CHECKED_OUT") ||
-                                    booking.getStatus().equals("PENDING_PAYMENT") ||
-                    // Support old status: PENDING without negotiation
-                                    (booking.getStatus().equals("PENDING") &&
-                                            (booking.getRequestedNegotiationPercent() == null
-                                                    || booking.getRequestedNegotiationPercent() == 0)));
-                })
-                .sorted((a, b) -> b.getId().compareTo(a.getId()))
-                .toList();
+    @Transactional(readOnly = true)
+    public Slice<BookingSummary> getCurrentBookingsByOwnerId(Long ownerId, int page, int size) {
+        return bookingRepository.findCurrentSummariesByOwnerId(ownerId, LocalDate.now(), pageOf(page, size));
     }
 
     @Transactional
@@ -560,7 +461,7 @@ public class BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
 
-        log.info("tenantCheckout: bookingId={}, tenantId={}, bookingStatus={}, bookingUserId={}",
+        log.debug("tenantCheckout: bookingId={}, tenantId={}, bookingStatus={}, bookingUserId={}",
                 bookingId, tenantId, booking.getStatus(), booking.getUserId());
 
         if (!booking.getUserId().equals(tenantId)) {
@@ -579,10 +480,16 @@ public class BookingService {
                             + booking.getStatus());
         }
 
+        String previousStatus = booking.getStatus();
         booking.setStatus("TENANT_CHECKED_OUT");
-        log.info("Tenant checked out: bookingId={}, status changed to TENANT_CHECKED_OUT", bookingId);
-
-        return bookingRepository.save(booking);
+        log.atInfo()
+                .addKeyValue("bookingId", bookingId)
+                .addKeyValue("status", "TENANT_CHECKED_OUT")
+                .log("Tenant checked out of booking {}", bookingId);
+
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved, previousStatus);
+        return saved;
     }
 
     @Transactional
@@ -590,7 +497,7 @@ public class BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found: " + bookingId));
 
-        log.info("ownerConfirmCheckout: bookingId={}, ownerId={}, bookingStatus={}, propertyId={}",
+        log.debug("ownerConfirmCheckout: bookingId={}, ownerId={}, bookingStatus={}, propertyId={}",
                 bookingId, ownerId, booking.getStatus(), booking.getPropertyId());
 
         boolean isOwner = false;
@@ -599,7 +506,7 @@ public class BookingService {
                 Property localProperty = propertyRepository.findById(booking.getPropertyId()).orElse(null);
                 if (localProperty != null && localProperty.getOwnerId() != null) {
                     isOwner = localProperty.getOwnerId().equals(ownerId);
-                    log.info("Owner check from local DB: isOwner={}, propertyOwnerId={}, userId={}",
+                    log.debug("Owner check from local DB: isOwner={}, propertyOwnerId={}, userId={}",
                             isOwner, localProperty.getOwnerId(), ownerId);
                 }
 
@@ -607,7 +514,7 @@ public class BookingService {
                     PropertyInfo propertyInfo = getPropertyInfoFromPropertyService(booking.getPropertyId());
                     if (propertyInfo != null && propertyInfo.getOwnerId() != null) {
                         isOwner = propertyInfo.getOwnerId().equals(ownerId);
-                        log.info("Owner check from property-service: isOwner={}, propertyOwnerId={}, userId={}",
+                        log.debug("Owner check from property-service: isOwner={}, propertyOwnerId={}, userId={}",
                                 isOwner, propertyInfo.getOwnerId(), ownerId);
                     }
                 }
@@ -628,10 +535,161 @@ public class BookingService {
                     + booking.getStatus());
         }
 
+        String previousStatus = booking.getStatus();
         booking.setStatus("COMPLETED");
-        log.info("Owner confirmed checkout: bookingId={}, status changed to COMPLETED", bookingId);
+        log.atInfo()
+                .addKeyValue("bookingId", bookingId)
+                .addKeyValue("status", "COMPLETED")
+                .log("Owner confirmed checkout of booking {}", bookingId);
+
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved, ownerId, previousStatus);
+        return saved;
+    }
+
+    /**
+     * Sets the status requested through the generic status endpoint (payment
+     * confirmation, admin overrides) and notifies subscribers.
+     */
+    @Transactional
+    public Booking updateStatus(Booking booking, String status) {
+        String previousStatus = booking.getStatus();
+        booking.setStatus(status);
+        Booking saved = bookingRepository.save(booking);
+        publishChange(saved, previousStatus);
+        return saved;
+    }
+
+    /**
+     * Confirms the bookings of a batch of payment confirmations, given as booking
+     * id to transaction hash in arrival order, then removes the bookings they
+     * overlap with one query per property instead of one per booking.
+     *
+     * Bookings already confirmed are left as they are, so a redelivered batch is
+     * harmless. A booking that overlaps one confirmed earlier (in this batch or
+     * already) is not confirmed: the earlier payment wins and the overlap pass
+     * removes it, as sequential confirmations would have.
+     *
+     * @return ids of the bookings that could not be confirmed: unknown, not
+     *         awaiting payment, or lost to an overlapping booking
+     */
+    @Timed(value = "booking.payment.confirm", description = "Confirmation of a batch of paid bookings")
+    @Transactional
+    public Set<Long> confirmPayments(Map<Long, String> txHashByBookingId) {
+        Map<Long, Booking> bookings = bookingRepository.findAllById(txHashByBookingId.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> booking));
+        Set<Long> rejected = new HashSet<>();
+        // Per property: every confirmed booking, from before or in this batch, and the ones confirmed just now
+        Map<String, List<Booking>> heldByProperty = confirmedOverlapping(bookings.values());
+        Map<String, List<Booking>> confirmedByProperty = new HashMap<>();
+        txHashByBookingId.forEach((bookingId, txHash) -> {
+            Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                rejected.add(bookingId);
+                return;
+            }
+            List<Booking> held = heldByProperty.computeIfAbsent(booking.getPropertyId(), p -> new ArrayList<>());
+            if ("CONFIRMED".equals(booking.getStatus())) {
+                held.add(booking);
+                return;
+            }
+            if (!"PENDING_PAYMENT".equals(booking.getStatus())
+                    || held.stream().anyMatch(other -> overlaps(other, booking))) {
+                rejected.add(bookingId);
+                return;
+            }
+            booking.setStatus("CONFIRMED");
+            if (txHash != null) {
+                booking.setOnChainTxHash(txHash);
+                // A new transaction has not been checked against the chain yet
+                booking.setOnChainStatus(null);
+            }
+            held.add(booking);
+            confirmedByProperty.computeIfAbsent(booking.getPropertyId(), p -> new ArrayList<>()).add(booking);
+        });
+
+        heldByProperty.forEach((propertyId, held) -> {
+            List<Booking> confirmed = confirmedByProperty.getOrDefault(propertyId, List.of());
+            Long ownerId = held.isEmpty() ? null : ownerIdOf(held.get(0));
+            bookingRepository.saveAll(confirmed);
+            confirmed.forEach(booking -> publishChange(booking, ownerId, "PENDING_PAYMENT"));
+            if (propertyId != null && !held.isEmpty()) {
+                deleteOverlapping(propertyId, ownerId, held);
+            }
+        });
+        return rejected;
+    }
 
-        return bookingRepository.save(booking);
+    /**
+     * The bookings confirmed before this batch that overlap its date range, per
+     * property, so a payment never wins over one that was already accepted.
+     */
+    private Map<String, List<Booking>> confirmedOverlapping(Collection<Booking> batch) {
+        Set<Long> batchIds = batch.stream().map(Booking::getId).collect(Collectors.toSet());
+        Map<String, List<Booking>> confirmedByProperty = new LinkedHashMap<>();
+        batch.stream()
+                .filter(booking -> booking.getPropertyId() != null)
+                .collect(Collectors.groupingBy(Booking::getPropertyId, LinkedHashMap::new, Collectors.toList()))
+                .forEach((propertyId, bookings) -> {
+                    LocalDate from = bookings.stream().map(Booking::getCheckInDate).min(LocalDate::compareTo)
+                            .orElseThrow();
+                    LocalDate to = bookings.stream().map(Booking::getCheckOutDate).max(LocalDate::compareTo)
+                            .orElseThrow();
+                    confirmedByProperty.put(propertyId, bookingRepository
+                            .findBookingsOverlappingRange(propertyId, batchIds, from, to).stream()
+                            .filter(booking -> "CONFIRMED".equals(booking.getStatus()))
+                            .collect(Collectors.toCollection(ArrayList::new)));
+                });
+        return confirmedByProperty;
+    }
+
+    private void deleteOverlapping(String propertyId, Long ownerId, List<Booking> held) {
+        LocalDate from = held.stream().map(Booking::getCheckInDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = held.stream().map(Booking::getCheckOutDate).max(LocalDate::compareTo).orElseThrow();
+        List<Long> heldIds = held.stream().map(Booking::getId).toList();
+        int deletedCount = 0;
+        for (Booking candidate : bookingRepository.findBookingsOverlappingRange(propertyId, heldIds, from, to)) {
+            if (held.stream().noneMatch(booking -> overlaps(booking, candidate))) {
+                continue;
+            }
+            bookingRepository.delete(candidate);
+            deletedCount++;
+            eventPublisher.publishEvent(BookingChangedEvent.of(candidate.getId(), candidate.getUserId(), ownerId,
+                    propertyId, candidate.getStatus(), candidate.getStatus(), true));
+        }
+        if (deletedCount > 0) {
+            log.atInfo()
+                    .addKeyValue("propertyId", propertyId)
+                    .addKeyValue("confirmed", heldIds)
+                    .addKeyValue("deleted", deletedCount)
+                    .log("Deleted {} booking(s) overlapping confirmed bookings {} of property {}",
+                            deletedCount, heldIds, propertyId);
+        }
+    }
+
+    // Inclusive on both ends, as in findOverlappingBookings
+    private static boolean overlaps(Booking a, Booking b) {
+        return !a.getCheckInDate().isAfter(b.getCheckOutDate()) && !a.getCheckOutDate().isBefore(b.getCheckInDate());
+    }
+
+    private void publishChange(Booking booking, String previousStatus) {
+        publishChange(booking, ownerIdOf(booking), previousStatus);
+    }
+
+    /**
+     * Queues a change notification; it is only relayed to SSE subscribers once
+     * the surrounding transaction commits.
+     */
+    private void publishChange(Booking booking, Long ownerId, String previousStatus) {
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking.getId(), booking.getUserId(), ownerId,
+                booking.getPropertyId(), booking.getStatus(), previousStatus, false));
+    }
+
+    private Long ownerIdOf(Booking booking) {
+        if (booking.getPropertyId() == null) {
+            return null;
+        }
+        return propertyRepository.findOwnerIdById(booking.getPropertyId()).orElse(null);
     }
 
     @Deprecated
@@ -650,27 +708,26 @@ public class BookingService {
     @SuppressWarnings("unchecked")
     private Map<String, Object> getUserInfoFromUserService(Long userId) {
         try {
-            String url = userServiceUrl + "/api/v1/users/" + userId;
-            log.info("🌐 Calling user-service for user info: {}", url);
+            log.debug("Calling user-service for user info: {}", userId);
 
-            Object response = restTemplate.getForObject(url, Object.class);
+            Object response = restTemplate.getForObject(userServiceUrl + "/api/v1/users/{id}", Object.class, userId);
             if (response == null) {
-                return Map.of("firstName", "Unknown", "lastName", "User", "email", "unknown@example.com");
+                return UNKNOWN_USER;
             }
             return (Map<String, Object>) response;
         } catch (Exception e) {
             log.error("Error fetching user info from user-service: {}", e.getMessage());
-            return Map.of("firstName", "Unknown", "lastName", "User", "email", "unknown@example.com");
+            return UNKNOWN_USER;
         }
     }
 
     @SuppressWarnings("unchecked")
     private Map<String, Object> getPropertyDetailsFromPropertyService(String propertyId) {
         try {
-            String url = propertyServiceUrl + "/api/v1/properties/" + propertyId;
-            log.info("🌐 Calling property-service for property details: {}", url);
+            log.debug("Calling property-service for property details: {}", propertyId);
 
-            Object response = restTemplate.getForObject(url, Object.class);
+            Object response = restTemplate.getForObject(propertyServiceUrl + "/api/v1/properties/{id}", Object.class,
+                    propertyId);
             if (response == null) {
                 return Map.of("title", "Unknown Property", "address", Map.of("address", "Unknown", "city", "Unknown"));
             }
@@ -681,25 +738,21 @@ public class BookingService {
         }
     }
 
+    @Timed(value = "booking.overlap.cancel", description = "Removal of bookings overlapping a confirmed one")
     @Transactional
     public void cancelOverlappingBookings(Long confirmedBookingId) {
-        log.info("🚀 cancelOverlappingBookings called for bookingId={}", confirmedBookingId);
+        log.debug("Cancelling bookings overlapping confirmed booking {}", confirmedBookingId);
         try {
             Booking confirmedBooking = bookingRepository.findById(confirmedBookingId)
                     .orElse(null);
 
             if (confirmedBooking == null) {
-                log.error("❌ Cannot delete overlapping bookings: confirmed booking not found: {}", confirmedBookingId);
+                log.error("Cannot delete overlapping bookings: confirmed booking not found: {}", confirmedBookingId);
                 return;
             }
 
-            log.info("📋 Confirmed booking details: id={}, status={}, propertyId={}, checkIn={}, checkOut={}",
-                    confirmedBooking.getId(), confirmedBooking.getStatus(),
-                    confirmedBooking.getPropertyId(), confirmedBooking.getCheckInDate(),
-                    confirmedBooking.getCheckOutDate());
-
             if (!"CONFIRMED".equals(confirmedBooking.getStatus())) {
-                log.warn("⚠️ Booking {} is not CONFIRMED (status: {}), skipping overlap deletion",
+                log.warn("Booking {} is not CONFIRMED (status: {}), skipping overlap deletion",
                         confirmedBookingId, confirmedBooking.getStatus());
                 return;
             }
@@ -709,30 +762,17 @@ public class BookingService {
             LocalDate checkOut = confirmedBooking.getCheckOutDate();
 
             if (propertyId == null || checkIn == null || checkOut == null) {
-                log.warn("⚠️ Cannot delete overlapping bookings: missing propertyId or dates for booking {}",
+                log.warn("Cannot delete overlapping bookings: missing propertyId or dates for booking {}",
                         confirmedBookingId);
                 return;
             }
 
-            log.info(
-                    "Looking for overlapping bookings to DELETE: propertyId={}, checkIn={}, checkOut={}, excludeBookingId={}",
-                    propertyId, checkIn, checkOut, confirmedBookingId);
-
-            List<Booking> allPropertyBookings = bookingRepository.findByPropertyId(propertyId);
-            log.info("📊 Total bookings for property {}: {}", propertyId, allPropertyBookings.size());
-            for (Booking b : allPropertyBookings) {
-                log.info("   - Booking {}: status={}, checkIn={}, checkOut={}",
-                        b.getId(), b.getStatus(), b.getCheckInDate(), b.getCheckOutDate());
-            }
-
             List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
                     propertyId,
                     confirmedBookingId,
                     checkIn,
                     checkOut);
 
-            log.info("SQL query returned {} overlapping booking(s) before filtering", overlappingBookings.size());
-
             overlappingBookings.removeIf(b -> {
                 boolean isConfirmed = b.getId().equals(confirmedBookingId);
                 if (isConfirmed) {
@@ -742,36 +782,19 @@ public class BookingService {
                 return isConfirmed;
             });
 
-            log.info("After filtering, {} overlapping booking(s) remain to DELETE (excluding confirmedBookingId={})",
-                    overlappingBookings.size(), confirmedBookingId);
-            for (Booking b : overlappingBookings) {
-                log.info("   - Overlapping Booking {}: status={}, checkIn={}, checkOut={}, userId={}",
-                        b.getId(), b.getStatus(), b.getCheckInDate(), b.getCheckOutDate(), b.getUserId());
-            }
-
             if (overlappingBookings.isEmpty()) {
-                log.info("No overlapping bookings found for booking {}", confirmedBookingId);
+                log.debug("No overlapping bookings found for booking {}", confirmedBookingId);
                 return;
             }
 
-            log.info("Found {} overlapping booking(s) to DELETE from database (excluding confirmedBookingId={})",
-                    overlappingBookings.size(), confirmedBookingId);
-
+            Long ownerId = ownerIdOf(confirmedBooking);
+            LogSampler rows = new LogSampler(10, 100);
             int deletedCount = 0;
             int skippedCount = 0;
             for (Booking overlappingBooking : overlappingBookings) {
-                if (overlappingBooking.getId().equals(confirmedBookingId)) {
-                    log.error(
-                            "CRITICAL ERROR: Attempted to delete the confirmed booking itself! bookingId={}. This should never happen - SQL query should exclude it!",
-                            confirmedBookingId);
-                    continue;
-                }
-
                 String previousStatus = overlappingBooking.getStatus();
 
                 if ("COMPLETED".equals(previousStatus)) {
-                    log.info("Skipping booking {} - already completed (status: {}), will not delete",
-                            overlappingBooking.getId(), previousStatus);
                     skippedCount++;
                     continue;
                 }
@@ -780,20 +803,28 @@ public class BookingService {
                     Long bookingIdToDelete = overlappingBooking.getId();
                     bookingRepository.delete(overlappingBooking);
                     deletedCount++;
-
-                    log.info("DELETED overlapping booking from database: bookingId={}, previousStatus={}, " +
-                            "checkIn={}, checkOut={} (overlapped with confirmed booking {})",
-                            bookingIdToDelete, previousStatus,
-                            overlappingBooking.getCheckInDate(), overlappingBooking.getCheckOutDate(),
-                            confirmedBookingId);
+                    eventPublisher.publishEvent(BookingChangedEvent.of(bookingIdToDelete,
+                            overlappingBooking.getUserId(), ownerId, propertyId,
+                            previousStatus, previousStatus, true));
+
+                    if (log.isDebugEnabled() && rows.sample()) {
+                        log.debug("Deleted overlapping booking {}: previousStatus={}, checkIn={}, checkOut={}",
+                                bookingIdToDelete, previousStatus,
+                                overlappingBooking.getCheckInDate(), overlappingBooking.getCheckOutDate());
+                    }
                 } catch (Exception e) {
                     log.error("Failed to delete overlapping booking {}: {}", overlappingBooking.getId(), e.getMessage(),
                             e);
                 }
             }
 
-            log.info("Deletion summary: {} deleted, {} skipped, {} total overlapping bookings for confirmed booking {}",
-                    deletedCount, skippedCount, overlappingBookings.size(), confirmedBookingId);
+            log.atInfo()
+                    .addKeyValue("bookingId", confirmedBookingId)
+                    .addKeyValue("propertyId", propertyId)
+                    .addKeyValue("deleted", deletedCount)
+                    .addKeyValue("skipped", skippedCount)
+                    .log("Deleted {} booking(s) overlapping confirmed booking {}, skipped {} completed",
+                            deletedCount, confirmedBookingId, skippedCount);
 
         } catch (Exception e) {
             log.error("Error deleting overlapping bookings for booking {}: {}",
@@ -804,22 +835,37 @@ public class BookingService {
     public List<ma.fstt.bookingservice.api.dto.AdminBookingResponseDTO> getAllBookingsForAdmin() {
         List<Booking> bookings = bookingRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
 
+        Set<String> propertyIds = bookings.stream()
+                .map(Booking::getPropertyId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Long> ownerIds = new HashMap<>();
+        for (Property property : propertyRepository.findAllById(propertyIds)) {
+            if (property.getOwnerId() != null) {
+                ownerIds.put(property.getId(), property.getOwnerId());
+            }
+        }
+        Set<Long> userIds = new HashSet<>(ownerIds.values());
+        bookings.stream().map(Booking::getUserId).filter(Objects::nonNull).forEach(userIds::add);
+
+        // One lookup per distinct property and user instead of two or three per booking
+        Map<String, Map<String, Object>> propertyDetailsById = enrichmentFanOut.fetchAll(propertyIds,
+                this::getPropertyDetailsFromPropertyService);
+        Map<Long, Map<String, Object>> usersById = enrichmentFanOut.fetchAll(userIds,
+                this::getUserInfoFromUserService);
+
         return bookings.stream().map(booking -> {
             try {
-                Property property = null;
                 Map<String, Object> propertyDetails = null;
                 String propertyTitle = "Unknown Property";
                 String propertyAddress = "Unknown";
                 Long ownerId = null;
 
                 if (booking.getPropertyId() != null) {
-                    property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-                    if (property != null) {
-                        ownerId = property.getOwnerId();
-                    }
+                    ownerId = ownerIds.get(booking.getPropertyId());
 
                     try {
-                        propertyDetails = getPropertyDetailsFromPropertyService(booking.getPropertyId());
+                        propertyDetails = propertyDetailsById.get(booking.getPropertyId());
                         if (propertyDetails != null) {
                             propertyTitle = (String) propertyDetails.getOrDefault("title", "Unknown Property");
                             @SuppressWarnings("unchecked")
@@ -834,7 +880,7 @@ public class BookingService {
                     }
                 }
 
-                Map<String, Object> tenantInfo = getUserInfoFromUserService(booking.getUserId());
+                Map<String, Object> tenantInfo = usersById.getOrDefault(booking.getUserId(), UNKNOWN_USER);
                 String tenantName = tenantInfo.getOrDefault("firstName", "Unknown") + " " +
                         tenantInfo.getOrDefault("lastName", "User");
                 String tenantEmail = (String) tenantInfo.getOrDefault("email", "unknown@example.com");
@@ -843,7 +889,7 @@ public class BookingService {
                 String hostEmail = "unknown@example.com";
                 if (ownerId != null) {
                     try {
-                        Map<String, Object> hostInfo = getUserInfoFromUserService(ownerId);
+                        Map<String, Object> hostInfo = usersById.getOrDefault(ownerId, UNKNOWN_USER);
                         hostName = hostInfo.getOrDefault("firstName", "Unknown") + " " +
                                 hostInfo.getOrDefault("lastName", "Host");
                         hostEmail = (String) hostInfo.getOrDefault("email", "unknown@example.com");
@@ -876,6 +922,7 @@ public class BookingService {
                         .requestedNegotiationPercent(booking.getRequestedNegotiationPercent())
                         .status(booking.getStatus())
                         .onChainTxHash(booking.getOnChainTxHash())
+                        .onChainStatus(booking.getOnChainStatus())
                         .negotiationExpiresAt(booking.getNegotiationExpiresAt())
                         .createdAt(booking.getCreatedAt())
                         .updatedAt(booking.getUpdatedAt())
@@ -903,6 +950,7 @@ public class BookingService {
         }).toList();
     }
 
+    @Transactional(readOnly = true)
     public ma.fstt.bookingservice.api.dto.BookingStatsDTO getBookingStats(Long userId) {
         Instant sixMonthsAgo = Instant.now().minus(180, ChronoUnit.DAYS);
         ma.fstt.bookingservice.domain.repository.BookingStatsSummary stats = bookingRepository.getBookingStats(userId,
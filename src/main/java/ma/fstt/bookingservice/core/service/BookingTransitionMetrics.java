@@ -0,0 +1,34 @@
+package ma.fstt.bookingservice.core.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import ma.fstt.bookingservice.core.messaging.BookingChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counts committed booking status transitions, tagged by source and target
+ * status. New bookings count from NONE, overlap removals to DELETED.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingTransitionMetrics {
+
+    private static final String NONE = "NONE";
+    private static final String DELETED = "DELETED";
+
+    private final MeterRegistry registry;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        String from = event.previousStatus() != null ? event.previousStatus() : NONE;
+        String to = event.deleted() ? DELETED : event.status();
+        Counter.builder("booking.status.transitions")
+                .description("Committed booking status transitions")
+                .tag("from", from)
+                .tag("to", to)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,67 @@
+package ma.fstt.bookingservice.core.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Runs the blocking property/user-service lookups behind the admin listing
+ * concurrently. In virtual-thread mode every lookup gets its own virtual thread;
+ * otherwise a fixed pool of platform threads is used. Either way at most
+ * {@code booking.admin.enrichment.concurrency} lookups are in flight, so one
+ * listing cannot flood the downstream services.
+ */
+@Component
+public class EnrichmentFanOut {
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public EnrichmentFanOut(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${booking.admin.enrichment.concurrency:16}") int concurrency) {
+        this.permits = new Semaphore(concurrency);
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("booking-enrich-", 0).factory())
+                : Executors.newFixedThreadPool(concurrency, Thread.ofPlatform().name("booking-enrich-", 0)
+                        .daemon(true).factory());
+    }
+
+    /**
+     * Looks up every key once and waits for all of them. {@code fetch} is
+     * expected to handle its own failures.
+     */
+    public <K, V> Map<K, V> fetchAll(Collection<K> keys, Function<K, V> fetch) {
+        Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+        for (K key : keys) {
+            pending.computeIfAbsent(key, k -> CompletableFuture.supplyAsync(() -> limited(fetch, k), executor));
+        }
+        Map<K, V> results = new HashMap<>();
+        pending.forEach((key, future) -> results.put(key, future.join()));
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <K, V> V limited(Function<K, V> fetch, K key) {
+        permits.acquireUninterruptibly();
+        try {
+            return fetch.apply(key);
+        } finally {
+            permits.release();
+        }
+    }
+}
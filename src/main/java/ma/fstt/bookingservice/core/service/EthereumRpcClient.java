@@ -0,0 +1,103 @@
+package ma.fstt.bookingservice.core.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads transaction receipts from an Ethereum JSON-RPC endpoint
+ * ({@code booking.reconciliation.rpc-url}): any node, or a local dev chain such
+ * as the anvil service in {@code docker-compose.chain.yml}. All receipts of a call
+ * go out as one JSON-RPC batch, together with {@code eth_blockNumber} so the
+ * caller can count confirmations.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reconciliation.enabled", havingValue = "true")
+@Slf4j
+public class EthereumRpcClient {
+
+    private final RestTemplate restTemplate;
+    private final String rpcUrl;
+
+    public EthereumRpcClient(RestTemplate restTemplate,
+            @Value("${booking.reconciliation.rpc-url:http://localhost:8545}") String rpcUrl) {
+        this.restTemplate = restTemplate;
+        this.rpcUrl = rpcUrl;
+    }
+
+    /**
+     * Receipts of {@code txHashes}, keyed by hash. Transactions not mined yet,
+     * unknown to the node or answered with an error are left out, and so are
+     * receipts without a {@code status} (pre-Byzantium blocks, or a node that
+     * omits it), which cannot tell a reverted transaction from a successful one.
+     */
+    public ReceiptBatch getTransactionReceipts(List<String> txHashes) {
+        // The block number is request id 0, receipt i is id i + 1
+        List<Map<String, Object>> calls = new ArrayList<>(txHashes.size() + 1);
+        calls.add(call(0, "eth_blockNumber", List.of()));
+        for (int i = 0; i < txHashes.size(); i++) {
+            calls.add(call(i + 1, "eth_getTransactionReceipt", List.of(txHashes.get(i))));
+        }
+        JsonNode[] responses = restTemplate.postForObject(rpcUrl, calls, JsonNode[].class);
+        if (responses == null) {
+            throw new IllegalStateException("Empty JSON-RPC response from " + rpcUrl);
+        }
+
+        long latestBlock = -1;
+        Map<String, Receipt> receipts = new HashMap<>();
+        // Batch responses may come back in any order
+        for (JsonNode response : responses) {
+            int id = response.path("id").asInt(-1);
+            JsonNode result = response.path("result");
+            if (response.hasNonNull("error") || id < 0 || id > txHashes.size()) {
+                log.debug("JSON-RPC call {} failed: {}", id, response.path("error"));
+            } else if (id == 0) {
+                latestBlock = quantity(result);
+            } else if (result.isObject()) {
+                long status = quantity(result.path("status"));
+                long blockNumber = quantity(result.path("blockNumber"));
+                if (status < 0 || blockNumber < 0) {
+                    log.debug("Receipt of {} has no status or block number, treating it as unknown",
+                            txHashes.get(id - 1));
+                } else {
+                    receipts.put(txHashes.get(id - 1), new Receipt(status == 1, blockNumber));
+                }
+            }
+        }
+        if (latestBlock < 0) {
+            throw new IllegalStateException("No block number in JSON-RPC response from " + rpcUrl);
+        }
+        return new ReceiptBatch(latestBlock, receipts);
+    }
+
+    private static Map<String, Object> call(int id, String method, List<Object> params) {
+        return Map.of("jsonrpc", "2.0", "id", id, "method", method, "params", params);
+    }
+
+    // JSON-RPC quantities are 0x-prefixed hex
+    private static long quantity(JsonNode value) {
+        String text = value.asText("");
+        if (!text.startsWith("0x") || text.length() < 3) {
+            return -1;
+        }
+        return Long.parseLong(text.substring(2), 16);
+    }
+
+    /**
+     * @param succeeded   receipt status 1; a reverted transaction has status 0
+     * @param blockNumber block the transaction was mined in
+     */
+    public record Receipt(boolean succeeded, long blockNumber) {
+    }
+
+    public record ReceiptBatch(long latestBlock, Map<String, Receipt> receipts) {
+    }
+}
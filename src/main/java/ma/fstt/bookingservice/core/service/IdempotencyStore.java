@@ -0,0 +1,98 @@
+package ma.fstt.bookingservice.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import ma.fstt.bookingservice.domain.entity.IdempotencyKey;
+import ma.fstt.bookingservice.domain.repository.IdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Dedup store for booking requests. Two bounded, expiring in-memory maps sit in
+ * front of the {@code idempotency_keys} table:
+ * <ul>
+ * <li>{@code accepted}: keys this replica has already put on the queue, so a
+ * double-click is answered at the edge without a second message;</li>
+ * <li>{@code processed}: keys that produced a booking, so a redelivered message
+ * is dropped without a property-service call.</li>
+ * </ul>
+ * The table's primary key is the backstop across replicas: the consumer claims
+ * the key first thing in the booking transaction, and a concurrent duplicate
+ * blocks on it and then fails.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyKeyRepository repository;
+    private final Duration ttl;
+    private final Cache<String, Boolean> accepted;
+    private final Cache<String, Long> processed;
+
+    public IdempotencyStore(IdempotencyKeyRepository repository,
+            @Value("${booking.idempotency.ttl:24h}") Duration ttl,
+            @Value("${booking.idempotency.max-keys:100000}") long maxKeys) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.accepted = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxKeys).build();
+        this.processed = Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxKeys).build();
+    }
+
+    /**
+     * Marks the key as accepted. False when it was already accepted here or has
+     * already produced a booking anywhere.
+     */
+    public boolean accept(String key) {
+        if (accepted.asMap().putIfAbsent(key, Boolean.TRUE) != null) {
+            return false;
+        }
+        return !isProcessed(key);
+    }
+
+    /**
+     * Releases a key whose request was rejected or never reached the queue, so
+     * a retry with the same key is handled afresh.
+     */
+    public void release(String key) {
+        accepted.invalidate(key);
+    }
+
+    public boolean isProcessed(String key) {
+        return processed.getIfPresent(key) != null || repository.existsById(key);
+    }
+
+    /**
+     * Claims the key in the current transaction. Flushed straight away so a
+     * duplicate fails here, before any remote call, rather than at commit.
+     */
+    public IdempotencyKey claim(String key) {
+        IdempotencyKey claim = repository.saveAndFlush(IdempotencyKey.builder()
+                .idempotencyKey(key)
+                .createdAt(Instant.now())
+                .build());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                processed.put(key, claim.getBookingId() != null ? claim.getBookingId() : -1L);
+            }
+        });
+        return claim;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = repository.deleteCreatedBefore(Instant.now().minus(ttl));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
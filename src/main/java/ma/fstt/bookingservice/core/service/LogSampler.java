@@ -0,0 +1,23 @@
+package ma.fstt.bookingservice.core.service;
+
+/**
+ * Thins out per-row debug logs inside loops: the first {@code head} rows are
+ * logged, then one in every {@code every}. A sampler covers a single pass and
+ * is not thread-safe.
+ */
+final class LogSampler {
+
+    private final int head;
+    private final int every;
+    private long seen;
+
+    LogSampler(int head, int every) {
+        this.head = head;
+        this.every = every;
+    }
+
+    boolean sample() {
+        long n = seen++;
+        return n < head || (n - head) % every == every - 1;
+    }
+}
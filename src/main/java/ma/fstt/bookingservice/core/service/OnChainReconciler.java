@@ -0,0 +1,233 @@
+package ma.fstt.bookingservice.core.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import ma.fstt.bookingservice.core.service.EthereumRpcClient.Receipt;
+import ma.fstt.bookingservice.core.service.EthereumRpcClient.ReceiptBatch;
+import ma.fstt.bookingservice.domain.entity.Booking;
+import ma.fstt.bookingservice.domain.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the payment transactions stored in {@code bookings.on_chain_tx_hash}
+ * against the chain. Each run walks the bookings whose current hash has no
+ * receipt recorded yet, in id order from the checkpoint in
+ * {@code reconciliation_checkpoints}, a page of {@code batch-size * concurrency}
+ * bookings at a time: the page is split into {@code concurrency} JSON-RPC
+ * batches fetched in parallel, and the final receipts of the page are written
+ * with one batched upsert into {@code on_chain_receipts}.
+ *
+ * A receipt is final once it has {@code min-confirmations}; transactions still
+ * pending, unknown to the node or not fetched because the node failed are picked
+ * up again on the next pass. The outcome is also set on the booking as
+ * {@code onChainStatus}, which the booking endpoints return: CONFIRMED, or
+ * FAILED for a reverted payment, which is logged and left for an operator to
+ * sort out. A run stops after {@code max-bookings-per-run} and the next one
+ * resumes from the checkpoint; the end of the table resets it for a new pass.
+ *
+ * The page is read and its receipts fetched outside any transaction; only
+ * applying them takes the checkpoint row lock, in one short transaction that
+ * records the receipts, sets the booking statuses and moves the checkpoint.
+ * With several replicas running the job, one that finds the checkpoint locked
+ * or already moved past its page drops what it fetched and skips its run.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reconciliation.enabled", havingValue = "true")
+@Slf4j
+public class OnChainReconciler {
+
+    private static final String JOB = "on-chain-tx";
+
+    private static final String UNVERIFIED = """
+            SELECT b.id, b.on_chain_tx_hash FROM bookings b
+            LEFT JOIN on_chain_receipts r ON r.booking_id = b.id AND r.tx_hash = b.on_chain_tx_hash
+            WHERE b.on_chain_tx_hash IS NOT NULL AND b.id > ? AND r.booking_id IS NULL
+            ORDER BY b.id
+            LIMIT ?""";
+
+    private static final String RECORD_RECEIPT = """
+            INSERT INTO on_chain_receipts (booking_id, tx_hash, status, block_number, checked_at)
+            VALUES (?, ?, ?, ?, now())
+            ON CONFLICT (booking_id) DO UPDATE
+            SET tx_hash = EXCLUDED.tx_hash, status = EXCLUDED.status,
+                block_number = EXCLUDED.block_number, checked_at = EXCLUDED.checked_at""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingRepository bookingRepository;
+    private final EthereumRpcClient rpcClient;
+    private final MeterRegistry registry;
+    private final int batchSize;
+    private final int pageSize;
+    private final int maxBookingsPerRun;
+    private final long minConfirmations;
+    private final ExecutorService executor;
+
+    public OnChainReconciler(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            BookingRepository bookingRepository, EthereumRpcClient rpcClient, MeterRegistry registry,
+            @Value("${booking.reconciliation.batch-size:50}") int batchSize,
+            @Value("${booking.reconciliation.concurrency:4}") int concurrency,
+            @Value("${booking.reconciliation.max-bookings-per-run:10000}") int maxBookingsPerRun,
+            @Value("${booking.reconciliation.min-confirmations:12}") long minConfirmations) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.bookingRepository = bookingRepository;
+        this.rpcClient = rpcClient;
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.pageSize = batchSize * concurrency;
+        this.maxBookingsPerRun = maxBookingsPerRun;
+        this.minConfirmations = minConfirmations;
+        this.executor = Executors.newFixedThreadPool(concurrency,
+                Thread.ofPlatform().name("booking-reconcile-", 0).daemon(true).factory());
+    }
+
+    @Scheduled(fixedDelayString = "${booking.reconciliation.interval-ms:60000}",
+            initialDelayString = "${booking.reconciliation.initial-delay-ms:30000}")
+    public void reconcile() {
+        jdbcTemplate.update("INSERT INTO reconciliation_checkpoints (job, last_booking_id, updated_at) "
+                + "VALUES (?, 0, now()) ON CONFLICT (job) DO NOTHING", JOB);
+        int checked = 0;
+        while (checked < maxBookingsPerRun) {
+            Integer page;
+            try {
+                page = reconcilePage();
+            } catch (OptimisticLockingFailureException e) {
+                // A booking of the page changed while it was being applied; the page is redone next run
+                log.debug("Booking changed during reconciliation, retrying next run: {}", e.getMessage());
+                return;
+            }
+            if (page == null) {
+                log.debug("Reconciliation checkpoint taken by another instance, skipping this run");
+                return;
+            }
+            checked += page;
+            if (page < pageSize) {
+                break;
+            }
+        }
+        log.debug("Reconciliation run checked {} booking(s)", checked);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One page: read and fetched without a transaction, then applied under the
+     * checkpoint row lock.
+     *
+     * @return bookings read, or null when another instance holds or has moved the checkpoint
+     */
+    private Integer reconcilePage() {
+        long checkpoint = jdbcTemplate.queryForObject(
+                "SELECT last_booking_id FROM reconciliation_checkpoints WHERE job = ?", Long.class, JOB);
+        List<Unverified> page = jdbcTemplate.query(UNVERIFIED,
+                (rs, rowNum) -> new Unverified(rs.getLong(1), rs.getString(2)), checkpoint, pageSize);
+
+        List<CompletableFuture<List<Verified>>> batches = new ArrayList<>();
+        for (int from = 0; from < page.size(); from += batchSize) {
+            List<Unverified> batch = page.subList(from, Math.min(from + batchSize, page.size()));
+            batches.add(CompletableFuture.supplyAsync(() -> verify(batch), executor));
+        }
+        List<Verified> receipts = new ArrayList<>();
+        batches.forEach(batch -> receipts.addAll(batch.join()));
+
+        // A short page is the end of the table: the next run starts a new pass
+        long next = page.size() < pageSize ? 0 : page.get(page.size() - 1).bookingId();
+        Boolean applied = transactionTemplate.execute(status -> apply(checkpoint, next, receipts));
+        return Boolean.TRUE.equals(applied) ? page.size() : null;
+    }
+
+    private boolean apply(long checkpoint, long next, List<Verified> receipts) {
+        List<Long> current = jdbcTemplate.queryForList(
+                "SELECT last_booking_id FROM reconciliation_checkpoints WHERE job = ? FOR UPDATE SKIP LOCKED",
+                Long.class, JOB);
+        if (current.isEmpty() || current.get(0) != checkpoint) {
+            return false;
+        }
+        if (!receipts.isEmpty()) {
+            jdbcTemplate.batchUpdate(RECORD_RECEIPT, receipts.stream()
+                    .map(receipt -> new Object[] { receipt.bookingId(), receipt.txHash(), receipt.status(),
+                            receipt.blockNumber() })
+                    .toList());
+            Map<Long, Verified> byBooking = receipts.stream()
+                    .collect(Collectors.toMap(Verified::bookingId, Function.identity()));
+            // Through JPA, so the version, the second-level cache and the other replicas follow
+            for (Booking booking : bookingRepository.findAllById(byBooking.keySet())) {
+                Verified receipt = byBooking.get(booking.getId());
+                // A hash replaced since the page was read is checked on a later pass
+                if (receipt.txHash().equals(booking.getOnChainTxHash())) {
+                    booking.setOnChainStatus(receipt.status());
+                }
+            }
+        }
+        jdbcTemplate.update("UPDATE reconciliation_checkpoints SET last_booking_id = ?, updated_at = now() "
+                + "WHERE job = ?", next, JOB);
+        return true;
+    }
+
+    // The final receipts of one JSON-RPC batch; empty if the node call failed
+    private List<Verified> verify(List<Unverified> batch) {
+        ReceiptBatch result;
+        try {
+            result = rpcClient.getTransactionReceipts(batch.stream().map(Unverified::txHash).distinct().toList());
+        } catch (RuntimeException e) {
+            log.warn("Fetching {} transaction receipt(s) failed: {}", batch.size(), e.getMessage());
+            count("error", batch.size());
+            return List.of();
+        }
+        List<Verified> receipts = new ArrayList<>();
+        int pending = 0;
+        for (Unverified booking : batch) {
+            Receipt receipt = result.receipts().get(booking.txHash());
+            if (receipt == null || result.latestBlock() - receipt.blockNumber() + 1 < minConfirmations) {
+                pending++;
+                continue;
+            }
+            String status = receipt.succeeded() ? "CONFIRMED" : "FAILED";
+            if (!receipt.succeeded()) {
+                log.warn("Payment transaction {} of booking {} reverted in block {}", booking.txHash(),
+                        booking.bookingId(), receipt.blockNumber());
+            }
+            receipts.add(new Verified(booking.bookingId(), booking.txHash(), status, receipt.blockNumber()));
+        }
+        long failed = receipts.stream().filter(receipt -> "FAILED".equals(receipt.status())).count();
+        count("confirmed", receipts.size() - failed);
+        count("failed", failed);
+        count("pending", pending);
+        return receipts;
+    }
+
+    private void count(String outcome, long bookings) {
+        Counter.builder("booking.reconciliation.transactions")
+                .description("Booking payment transactions checked against the chain, by outcome")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment(bookings);
+    }
+
+    private record Unverified(long bookingId, String txHash) {
+    }
+
+    private record Verified(long bookingId, String txHash, String status, long blockNumber) {
+    }
+}
@@ -0,0 +1,169 @@
+package ma.fstt.bookingservice.core.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user token buckets for the write endpoints, one per endpoint class
+ * ({@code booking.rate-limit.<endpoint>.capacity} requests in a burst, refilled
+ * at {@code refill-per-minute}).
+ *
+ * Buckets live in memory and are guarded by a fixed set of lock stripes rather
+ * than one lock, so users hashing to different stripes never wait on each other.
+ * With {@code booking.rate-limit.cluster.enabled=true} a request the local bucket
+ * admits must also take a token from the shared bucket in {@code rate_limit_buckets},
+ * which holds the limit across replicas at the cost of one upsert per request.
+ * The shared check fails open: if the database is unavailable, only the local
+ * limit applies.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    // One statement per request: refill by elapsed time, then take a token only if one is left
+    private static final String TAKE_SHARED_TOKEN = """
+            INSERT INTO rate_limit_buckets (bucket_key, tokens, refilled_at) VALUES (?, ?, now())
+            ON CONFLICT (bucket_key) DO UPDATE
+            SET tokens = LEAST(?, rate_limit_buckets.tokens
+                        + EXTRACT(EPOCH FROM now() - rate_limit_buckets.refilled_at) * ?) - 1,
+                refilled_at = now()
+            WHERE LEAST(?, rate_limit_buckets.tokens
+                        + EXTRACT(EPOCH FROM now() - rate_limit_buckets.refilled_at) * ?) >= 1
+            RETURNING tokens""";
+
+    private final Environment environment;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final boolean clusterEnabled;
+    private final Object[] stripes = new Object[STRIPES];
+    private final Cache<String, Bucket> buckets;
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    public RateLimiter(Environment environment, JdbcTemplate jdbcTemplate, MeterRegistry registry,
+            @Value("${booking.rate-limit.enabled:true}") boolean enabled,
+            @Value("${booking.rate-limit.cluster.enabled:false}") boolean clusterEnabled,
+            @Value("${booking.rate-limit.idle-expiry:10m}") Duration idleExpiry) {
+        this.environment = environment;
+        this.jdbcTemplate = jdbcTemplate;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.clusterEnabled = clusterEnabled;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        // An evicted bucket comes back full, so idle-expiry should cover a full refill
+        this.buckets = Caffeine.newBuilder().expireAfterAccess(idleExpiry).build();
+    }
+
+    /**
+     * Takes a token for {@code userId} on {@code endpoint}.
+     *
+     * @return how long to wait before retrying, or empty when the request may proceed
+     */
+    public Optional<Duration> tryAcquire(String endpoint, String userId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Limit limit = limits.computeIfAbsent(endpoint, this::limitFor);
+        String key = endpoint + ":" + userId;
+        Bucket bucket = buckets.get(key, k -> new Bucket(limit.capacity()));
+        Duration wait;
+        synchronized (stripes[Math.floorMod(key.hashCode(), STRIPES)]) {
+            wait = bucket.take(limit, System.nanoTime());
+        }
+        if (wait != null) {
+            return rejected(endpoint, "local", wait);
+        }
+        if (clusterEnabled && !takeSharedToken(key, limit)) {
+            return rejected(endpoint, "cluster", limit.timeForOneToken());
+        }
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${booking.rate-limit.cluster.purge-interval-ms:3600000}")
+    public void purgeIdleSharedBuckets() {
+        if (!clusterEnabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("DELETE FROM rate_limit_buckets WHERE refilled_at < now() - INTERVAL '1 day'");
+        } catch (DataAccessException e) {
+            log.warn("Could not purge shared rate limit buckets: {}", e.getMessage());
+        }
+    }
+
+    private boolean takeSharedToken(String key, Limit limit) {
+        try {
+            List<Double> remaining = jdbcTemplate.queryForList(TAKE_SHARED_TOKEN, Double.class, key,
+                    limit.capacity() - 1, limit.capacity(), limit.refillPerSecond(), limit.capacity(),
+                    limit.refillPerSecond());
+            return !remaining.isEmpty();
+        } catch (DataAccessException e) {
+            log.warn("Shared rate limit unavailable, applying the local limit only: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private Optional<Duration> rejected(String endpoint, String scope, Duration wait) {
+        Counter.builder("booking.rate-limit.rejected")
+                .description("Write requests turned away by the per-user rate limit")
+                .tag("endpoint", endpoint)
+                .tag("scope", scope)
+                .register(registry)
+                .increment();
+        return Optional.of(wait);
+    }
+
+    private Limit limitFor(String endpoint) {
+        String prefix = "booking.rate-limit." + endpoint + ".";
+        double capacity = environment.getProperty(prefix + "capacity", Double.class, 10.0);
+        double perMinute = environment.getProperty(prefix + "refill-per-minute", Double.class, capacity);
+        return new Limit(capacity, perMinute / 60);
+    }
+
+    private record Limit(double capacity, double refillPerSecond) {
+
+        Duration timeForOneToken() {
+            return Duration.ofMillis((long) Math.ceil(1000 / refillPerSecond));
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        private Bucket(double tokens) {
+            this.tokens = tokens;
+        }
+
+        // Caller holds the bucket's stripe
+        Duration take(Limit limit, long now) {
+            tokens = Math.min(limit.capacity(), tokens + (now - refilledAt) / 1e9 * limit.refillPerSecond());
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return null;
+            }
+            return Duration.ofMillis((long) Math.ceil((1 - tokens) / limit.refillPerSecond() * 1000));
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package ma.fstt.bookingservice.core.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ma.fstt.bookingservice.api.dto.AdminBookingResponseDTO;
+import ma.fstt.bookingservice.domain.repository.BookingSummary;
+import ma.fstt.bookingservice.domain.repository.BookingWatermark;
+import ma.fstt.bookingservice.domain.repository.reactive.AdminBookingRow;
+import ma.fstt.bookingservice.domain.repository.reactive.ReactiveBookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactive counterpart of the read side of {@link BookingService}: the tenant
+ * and owner listings and the enriched admin listing, for the NDJSON streams.
+ */
+@Service
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true")
+@Slf4j
+public class ReactiveBookingReader {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final Map<String, Object> UNKNOWN_USER = Map.of(
+            "firstName", "Unknown", "lastName", "User", "email", "unknown@example.com");
+    private static final Map<String, Object> UNKNOWN_PROPERTY = Map.of(
+            "title", "Unknown Property", "address", Map.of("address", "Unknown", "city", "Unknown"));
+
+    private final ReactiveBookingRepository bookingRepository;
+    private final WebClient webClient;
+    private final String propertyServiceUrl;
+    private final String userServiceUrl;
+    private final int enrichmentConcurrency;
+
+    public ReactiveBookingReader(ReactiveBookingRepository bookingRepository, WebClient serviceWebClient,
+            @Value("${property.service.url:http://localhost:8081}") String propertyServiceUrl,
+            @Value("${user.service.url:http://localhost:8082}") String userServiceUrl,
+            @Value("${booking.admin.enrichment.concurrency:16}") int enrichmentConcurrency) {
+        this.bookingRepository = bookingRepository;
+        this.webClient = serviceWebClient;
+        this.propertyServiceUrl = propertyServiceUrl;
+        this.userServiceUrl = userServiceUrl;
+        this.enrichmentConcurrency = enrichmentConcurrency;
+    }
+
+    public Flux<BookingSummary> getBookingsByUserId(Long userId, int page, int size) {
+        Pageable pageable = BookingService.pageOf(page, size);
+        return bookingRepository.findByUserId(userId, pageable.getPageSize(), pageable.getOffset())
+                .cast(BookingSummary.class);
+    }
+
+    public Flux<BookingSummary> getBookingsByOwnerId(Long ownerId, int page, int size) {
+        Pageable pageable = BookingService.pageOf(page, size);
+        return bookingRepository.findByOwnerId(ownerId, pageable.getPageSize(), pageable.getOffset())
+                .cast(BookingSummary.class);
+    }
+
+    public Flux<BookingSummary> getCurrentBookingsByOwnerId(Long ownerId, int page, int size) {
+        Pageable pageable = BookingService.pageOf(page, size);
+        return bookingRepository.findCurrentByOwnerId(ownerId, LocalDate.now(), pageable.getPageSize(),
+                pageable.getOffset()).cast(BookingSummary.class);
+    }
+
+    public Mono<BookingWatermark> getTenantWatermark(Long userId) {
+        return bookingRepository.getWatermarkByUserId(userId).cast(BookingWatermark.class);
+    }
+
+    public Mono<BookingWatermark> getOwnerWatermark(Long ownerId) {
+        return bookingRepository.getWatermarkByOwnerId(ownerId).cast(BookingWatermark.class);
+    }
+
+    /**
+     * Streams every booking, newest first, enriched from property-service and
+     * user-service. Each property and user is fetched once per call and at most
+     * {@code booking.admin.enrichment.concurrency} bookings are enriched at a
+     * time; output order is preserved.
+     */
+    public Flux<AdminBookingResponseDTO> getAllBookingsForAdmin() {
+        Map<String, Mono<Map<String, Object>>> properties = new ConcurrentHashMap<>();
+        Map<Long, Mono<Map<String, Object>>> users = new ConcurrentHashMap<>();
+        return bookingRepository.findAllForAdmin()
+                .flatMapSequential(row -> {
+                    Mono<Map<String, Object>> property = row.propertyId() == null
+                            ? Mono.just(UNKNOWN_PROPERTY)
+                            : properties.computeIfAbsent(row.propertyId(), id -> fetchProperty(id).cache());
+                    Mono<Map<String, Object>> tenant = row.userId() == null
+                            ? Mono.just(UNKNOWN_USER)
+                            : users.computeIfAbsent(row.userId(), id -> fetchUser(id).cache());
+                    Mono<Map<String, Object>> host = row.ownerId() == null
+                            ? Mono.just(Map.of())
+                            : users.computeIfAbsent(row.ownerId(), id -> fetchUser(id).cache());
+                    return Mono.zip(property, tenant, host)
+                            .map(details -> toAdminResponse(row, details.getT1(), details.getT2(), details.getT3()));
+                }, enrichmentConcurrency);
+    }
+
+    private Mono<Map<String, Object>> fetchProperty(String propertyId) {
+        return webClient.get()
+                .uri(propertyServiceUrl + "/api/v1/properties/{id}", propertyId)
+                .retrieve()
+                .bodyToMono(JSON_OBJECT)
+                .defaultIfEmpty(UNKNOWN_PROPERTY)
+                .onErrorResume(e -> {
+                    log.error("Error fetching property details from property-service: {}", e.getMessage());
+                    return Mono.just(UNKNOWN_PROPERTY);
+                });
+    }
+
+    private Mono<Map<String, Object>> fetchUser(Long userId) {
+        return webClient.get()
+                .uri(userServiceUrl + "/api/v1/users/{id}", userId)
+                .retrieve()
+                .bodyToMono(JSON_OBJECT)
+                .defaultIfEmpty(UNKNOWN_USER)
+                .onErrorResume(e -> {
+                    log.error("Error fetching user info from user-service: {}", e.getMessage());
+                    return Mono.just(UNKNOWN_USER);
+                });
+    }
+
+    /**
+     * Same fields and fallbacks as {@link BookingService#getAllBookingsForAdmin()}.
+     */
+    private static AdminBookingResponseDTO toAdminResponse(AdminBookingRow row, Map<String, Object> property,
+            Map<String, Object> tenant, Map<String, Object> host) {
+        String propertyAddress = "Unknown";
+        @SuppressWarnings("unchecked")
+        Map<String, Object> address = (Map<String, Object>) property.get("address");
+        if (address != null) {
+            propertyAddress = address.getOrDefault("address", "Unknown") + ", "
+                    + address.getOrDefault("city", "Unknown");
+        }
+        boolean hasHost = row.ownerId() != null;
+        Integer numberOfNights = row.checkInDate() != null && row.checkOutDate() != null
+                ? (int) ChronoUnit.DAYS.between(row.checkInDate(), row.checkOutDate())
+                : null;
+
+        return AdminBookingResponseDTO.builder()
+                .id(row.id())
+                .userId(row.userId())
+                .propertyId(row.propertyId())
+                .propertyTitle((String) property.getOrDefault("title", "Unknown Property"))
+                .propertyAddress(propertyAddress)
+                .ownerId(row.ownerId())
+                .tenantName(tenant.getOrDefault("firstName", "Unknown") + " "
+                        + tenant.getOrDefault("lastName", "User"))
+                .tenantEmail((String) tenant.getOrDefault("email", "unknown@example.com"))
+                .hostName(hasHost
+                        ? host.getOrDefault("firstName", "Unknown") + " " + host.getOrDefault("lastName", "Host")
+                        : "Unknown Host")
+                .hostEmail(hasHost ? (String) host.getOrDefault("email", "unknown@example.com")
+                        : "unknown@example.com")
+                .checkInDate(row.checkInDate())
+                .checkOutDate(row.checkOutDate())
+                .numberOfNights(numberOfNights)
+                .totalPrice(row.totalPrice())
+                .longStayDiscountPercent(row.longStayDiscountPercent())
+                .requestedNegotiationPercent(row.requestedNegotiationPercent())
+                .status(row.status())
+                .onChainTxHash(row.onChainTxHash())
+                .onChainStatus(row.onChainStatus())
+                .negotiationExpiresAt(row.negotiationExpiresAt())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+}
@@ -5,19 +5,26 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bookings")
 @Table(name = "bookings")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Booking {
+    // Sequence ids so inserts can be batched, one at a time so they follow creation order
+    // across replicas (newest-first listings and GET /booking-id sort on them)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_id")
+    @SequenceGenerator(name = "booking_id", sequenceName = "bookings_id_seq", allocationSize = 1)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -41,6 +48,11 @@ public class Booking {
     @Column(name = "on_chain_tx_hash")
     private String onChainTxHash;
 
+    // Outcome of onChainTxHash on the chain, set by OnChainReconciler: CONFIRMED, FAILED (reverted),
+    // or null while unchecked or short of the required confirmations
+    @Column(name = "on_chain_status", length = 16)
+    private String onChainStatus;
+
     @Column(name = "long_stay_discount_percent")
     private Integer longStayDiscountPercent;
 
@@ -56,6 +68,11 @@ public class Booking {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    // Optimistic lock counter; also feeds the ETag served by GET /api/bookings/{id}
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
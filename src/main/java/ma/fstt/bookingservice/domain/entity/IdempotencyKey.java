@@ -0,0 +1,47 @@
+package ma.fstt.bookingservice.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * A booking request that has been turned into a booking. The primary key is
+ * what makes duplicates fail, so a key is only ever inserted, never merged.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKey implements Persistable<String> {
+
+    // "<userId>:<Idempotency-Key header>", or the generated AMQP message id
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String idempotencyKey;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
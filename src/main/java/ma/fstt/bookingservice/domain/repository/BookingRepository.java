@@ -1,17 +1,34 @@
 package ma.fstt.bookingservice.domain.repository;
 
 import ma.fstt.bookingservice.domain.entity.Booking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * Aliased column list backing {@link BookingSummary}. Listing queries select
+     * these columns only instead of full entities.
+     */
+    String SUMMARY_COLUMNS = "SELECT b.id AS id, b.userId AS userId, b.propertyId AS propertyId, " +
+            "b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate, b.totalPrice AS totalPrice, " +
+            "b.status AS status, b.longStayDiscountPercent AS longStayDiscountPercent, " +
+            "b.requestedNegotiationPercent AS requestedNegotiationPercent, " +
+            "b.negotiationExpiresAt AS negotiationExpiresAt, b.onChainTxHash AS onChainTxHash, " +
+            "b.onChainStatus AS onChainStatus " +
+            "FROM Booking b ";
+
+    String OWNED_BY = "b.propertyId IN (SELECT p.id FROM Property p WHERE p.ownerId = :ownerId) ";
+
     /**
      * Find all bookings for a specific property
      */
@@ -44,6 +61,27 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("checkInDate") LocalDate checkInDate,
             @Param("checkOutDate") LocalDate checkOutDate);
 
+    /**
+     * Same candidates as {@link #findOverlappingBookings}, for a date range
+     * covering several confirmed bookings of one property at once.
+     */
+    @Query("SELECT b FROM Booking b WHERE b.propertyId = :propertyId " +
+            "AND b.id NOT IN :excludeBookingIds " +
+            "AND b.checkInDate <= :checkOutDate " +
+            "AND b.checkOutDate >= :checkInDate " +
+            "AND b.status NOT IN ('COMPLETED', 'CANCELLED')")
+    List<Booking> findBookingsOverlappingRange(
+            @Param("propertyId") String propertyId,
+            @Param("excludeBookingIds") Collection<Long> excludeBookingIds,
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate);
+
+    /**
+     * Id of the most recently created booking, or null when there is none.
+     */
+    @Query("SELECT MAX(b.id) FROM Booking b")
+    Long findLastId();
+
     @Query(value = """
             SELECT
                 COUNT(*) as total,
@@ -57,4 +95,62 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             """, nativeQuery = true)
     BookingStatsSummary getBookingStats(@Param("userId") Long userId,
             @Param("sixMonthsAgo") java.time.Instant sixMonthsAgo);
+
+    @Query("SELECT COUNT(b) AS count, MAX(b.updatedAt) AS lastUpdated FROM Booking b WHERE b.userId = :userId")
+    BookingWatermark getWatermarkByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(b) AS count, MAX(b.updatedAt) AS lastUpdated FROM Booking b WHERE " + OWNED_BY)
+    BookingWatermark getWatermarkByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("SELECT COUNT(b) AS count, MAX(b.updatedAt) AS lastUpdated FROM Booking b " +
+            "WHERE b.propertyId = :propertyId")
+    BookingWatermark getWatermarkByPropertyId(@Param("propertyId") String propertyId);
+
+    @Query(SUMMARY_COLUMNS + "WHERE b.userId = :userId ORDER BY b.id DESC")
+    Slice<BookingSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Tenant bookings waiting for host approval. Also matches the legacy PENDING
+     * status when a negotiation percent was requested.
+     */
+    @Query(SUMMARY_COLUMNS + "WHERE b.userId = :userId " +
+            "AND (b.status = 'PENDING_NEGOTIATION' " +
+            "OR (b.status = 'PENDING' AND b.requestedNegotiationPercent IS NOT NULL)) " +
+            "ORDER BY b.id DESC")
+    Slice<BookingSummary> findPendingSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Tenant bookings waiting for payment. Also matches the legacy PENDING status
+     * without a negotiation request.
+     */
+    @Query(SUMMARY_COLUMNS + "WHERE b.userId = :userId " +
+            "AND (b.status = 'PENDING_PAYMENT' " +
+            "OR (b.status = 'PENDING' AND (b.requestedNegotiationPercent IS NULL " +
+            "OR b.requestedNegotiationPercent = 0))) " +
+            "ORDER BY b.id DESC")
+    Slice<BookingSummary> findAwaitingPaymentSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SUMMARY_COLUMNS + "WHERE " + OWNED_BY + "ORDER BY b.id DESC")
+    Slice<BookingSummary> findSummariesByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(SUMMARY_COLUMNS + "WHERE " + OWNED_BY + "AND b.status = :status ORDER BY b.id DESC")
+    Slice<BookingSummary> findSummariesByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
+            @Param("status") String status, Pageable pageable);
+
+    /**
+     * Owner bookings whose stay covers the given day. Also matches the legacy
+     * PENDING status without a negotiation request.
+     */
+    @Query(SUMMARY_COLUMNS + "WHERE " + OWNED_BY +
+            "AND b.checkInDate <= :today AND b.checkOutDate >= :today " +
+            "AND (b.status IN ('CONFIRMED', 'TENANT_CHECKED_OUT', 'PENDING_PAYMENT') " +
+            "OR (b.status = 'PENDING' AND (b.requestedNegotiationPercent IS NULL " +
+            "OR b.requestedNegotiationPercent = 0))) " +
+            "ORDER BY b.id DESC")
+    Slice<BookingSummary> findCurrentSummariesByOwnerId(@Param("ownerId") Long ownerId,
+            @Param("today") LocalDate today, Pageable pageable);
+
+    @Query(SUMMARY_COLUMNS + "WHERE b.propertyId = :propertyId AND b.status = :status ORDER BY b.id DESC")
+    Slice<BookingSummary> findSummariesByPropertyIdAndStatus(@Param("propertyId") String propertyId,
+            @Param("status") String status, Pageable pageable);
 }
@@ -0,0 +1,34 @@
+package ma.fstt.bookingservice.domain.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Closed projection over the booking columns emitted by the list endpoints.
+ * Backed by a tuple query, so no {@code Booking} entity is hydrated.
+ */
+public interface BookingSummary {
+    Long getId();
+
+    Long getUserId();
+
+    String getPropertyId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+
+    Double getTotalPrice();
+
+    String getStatus();
+
+    Integer getLongStayDiscountPercent();
+
+    Integer getRequestedNegotiationPercent();
+
+    Instant getNegotiationExpiresAt();
+
+    String getOnChainTxHash();
+
+    String getOnChainStatus();
+}
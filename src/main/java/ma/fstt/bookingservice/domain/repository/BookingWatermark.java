@@ -0,0 +1,13 @@
+package ma.fstt.bookingservice.domain.repository;
+
+import java.time.Instant;
+
+/**
+ * Cheap "last change" marker for a set of bookings. The row count catches
+ * deletions that leave the latest update time untouched.
+ */
+public interface BookingWatermark {
+    Long getCount();
+
+    Instant getLastUpdated();
+}
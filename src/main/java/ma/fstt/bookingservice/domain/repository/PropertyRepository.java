@@ -1,10 +1,26 @@
 package ma.fstt.bookingservice.domain.repository;
 
+import jakarta.persistence.QueryHint;
 import ma.fstt.bookingservice.domain.entity.Property;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface PropertyRepository extends JpaRepository<Property, String> {
+
+    /**
+     * Ownership check used by the tenant/owner authorization paths. Served from
+     * the query cache; local writes to properties invalidate it through the
+     * update timestamps, remote ones through the cache invalidation broadcast.
+     */
+    @Query("SELECT p.ownerId FROM Property p WHERE p.id = :propertyId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Long> findOwnerIdById(@Param("propertyId") String propertyId);
 }
 
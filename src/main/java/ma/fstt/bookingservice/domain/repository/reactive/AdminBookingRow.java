@@ -0,0 +1,25 @@
+package ma.fstt.bookingservice.domain.repository.reactive;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Booking joined with the owner of its property, as read by the admin stream.
+ */
+public record AdminBookingRow(
+        Long id,
+        Long userId,
+        String propertyId,
+        Long ownerId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        Double totalPrice,
+        String status,
+        Integer longStayDiscountPercent,
+        Integer requestedNegotiationPercent,
+        Instant negotiationExpiresAt,
+        String onChainTxHash,
+        String onChainStatus,
+        Instant createdAt,
+        Instant updatedAt) {
+}
@@ -0,0 +1,31 @@
+package ma.fstt.bookingservice.domain.repository.reactive;
+
+import lombok.Value;
+import ma.fstt.bookingservice.domain.repository.BookingSummary;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read-only R2DBC view of the listing columns of {@code bookings}. Kept apart
+ * from the JPA {@code Booking} entity so each store only claims its own types.
+ */
+@Value
+@Table("bookings")
+public class BookingRow implements BookingSummary {
+    @Id
+    Long id;
+    Long userId;
+    String propertyId;
+    LocalDate checkInDate;
+    LocalDate checkOutDate;
+    Double totalPrice;
+    String status;
+    Integer longStayDiscountPercent;
+    Integer requestedNegotiationPercent;
+    Instant negotiationExpiresAt;
+    String onChainTxHash;
+    String onChainStatus;
+}
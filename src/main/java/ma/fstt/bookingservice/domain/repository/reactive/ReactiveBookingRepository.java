@@ -0,0 +1,73 @@
+package ma.fstt.bookingservice.domain.repository.reactive;
+
+import ma.fstt.bookingservice.domain.repository.BookingWatermark;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Non-blocking counterparts of the listing queries in {@code BookingRepository}.
+ * Query-only on purpose: every write still goes through JPA.
+ */
+public interface ReactiveBookingRepository extends Repository<BookingRow, Long> {
+
+    String ROW_COLUMNS = "SELECT id, user_id, property_id, check_in_date, check_out_date, total_price, status, " +
+            "long_stay_discount_percent, requested_negotiation_percent, negotiation_expires_at, on_chain_tx_hash, " +
+            "on_chain_status " +
+            "FROM bookings ";
+
+    /** The owner is stored in {@code properties.user_id}. */
+    String OWNED_BY = "property_id IN (SELECT id FROM properties WHERE user_id = :ownerId) ";
+
+    String PAGE = "ORDER BY id DESC LIMIT :limit OFFSET :offset";
+
+    @Query(ROW_COLUMNS + "WHERE user_id = :userId " + PAGE)
+    Flux<BookingRow> findByUserId(Long userId, int limit, long offset);
+
+    @Query(ROW_COLUMNS + "WHERE " + OWNED_BY + PAGE)
+    Flux<BookingRow> findByOwnerId(Long ownerId, int limit, long offset);
+
+    /**
+     * Same filter as {@code BookingRepository.findCurrentSummariesByOwnerId}.
+     */
+    @Query(ROW_COLUMNS + "WHERE " + OWNED_BY +
+            "AND check_in_date <= :today AND check_out_date >= :today " +
+            "AND (status IN ('CONFIRMED', 'TENANT_CHECKED_OUT', 'PENDING_PAYMENT') " +
+            "OR (status = 'PENDING' AND (requested_negotiation_percent IS NULL " +
+            "OR requested_negotiation_percent = 0))) " + PAGE)
+    Flux<BookingRow> findCurrentByOwnerId(Long ownerId, LocalDate today, int limit, long offset);
+
+    @Query("SELECT COUNT(*) AS count, MAX(updated_at) AS last_updated FROM bookings WHERE user_id = :userId")
+    Mono<Watermark> getWatermarkByUserId(Long userId);
+
+    @Query("SELECT COUNT(*) AS count, MAX(updated_at) AS last_updated FROM bookings WHERE " + OWNED_BY)
+    Mono<Watermark> getWatermarkByOwnerId(Long ownerId);
+
+    @Query("SELECT b.id, b.user_id, b.property_id, p.user_id AS owner_id, b.check_in_date, b.check_out_date, b.total_price, " +
+            "b.status, b.long_stay_discount_percent, b.requested_negotiation_percent, b.negotiation_expires_at, " +
+            "b.on_chain_tx_hash, b.on_chain_status, b.created_at, b.updated_at " +
+            "FROM bookings b LEFT JOIN properties p ON p.id = b.property_id " +
+            "ORDER BY b.created_at DESC")
+    Flux<AdminBookingRow> findAllForAdmin();
+
+    /**
+     * DTO projection of the watermark columns; R2DBC maps {@code last_updated}
+     * by constructor parameter name.
+     */
+    record Watermark(Long count, Instant lastUpdated) implements BookingWatermark {
+
+        @Override
+        public Long getCount() {
+            return count;
+        }
+
+        @Override
+        public Instant getLastUpdated() {
+            return lastUpdated;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ma.fstt.bookingservice.exception;
+
+import java.time.Duration;
+
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String endpoint, Duration retryAfter) {
+        this(endpoint, Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    private RateLimitExceededException(String endpoint, long retryAfterSeconds) {
+        super("Rate limit exceeded for " + endpoint + " requests, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,35 @@
+-- Schema as previously generated by ddl-auto=update. IF NOT EXISTS keeps this a
+-- no-op on databases created that way (baseline-version=0, so V1 always runs).
+
+CREATE TABLE IF NOT EXISTS properties (
+    id      VARCHAR(255)     NOT NULL,
+    user_id BIGINT           NOT NULL,
+    price   DOUBLE PRECISION NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email     VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id                            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id                       BIGINT       NOT NULL,
+    property_id                   VARCHAR(255),
+    check_in_date                 DATE         NOT NULL,
+    check_out_date                DATE         NOT NULL,
+    total_price                   DOUBLE PRECISION,
+    status                        VARCHAR(255) NOT NULL,
+    on_chain_tx_hash              VARCHAR(255),
+    long_stay_discount_percent    INTEGER,
+    requested_negotiation_percent INTEGER,
+    negotiation_expires_at        TIMESTAMP(6) WITH TIME ZONE,
+    created_at                    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at                    TIMESTAMP(6) WITH TIME ZONE,
+    version                       BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id)
+);
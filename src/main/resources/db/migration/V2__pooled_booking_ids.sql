@@ -0,0 +1,11 @@
+-- Hibernate reserves booking ids 50 at a time (pooled optimizer, allocationSize = 50)
+-- instead of relying on the identity column, so inserts can be sent as JDBC batches.
+-- The identity becomes a plain sequence default; INSERTs that omit the id still work.
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_id_seq INCREMENT BY 50 OWNED BY bookings.id;
+
+-- The pooled optimizer hands out (nextval - 49) .. nextval, so start a full block past the current ids
+SELECT setval('bookings_id_seq', COALESCE(MAX(id), 0) + 50, false) FROM bookings;
+
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_id_seq');
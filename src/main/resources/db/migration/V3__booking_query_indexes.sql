@@ -0,0 +1,26 @@
+-- Indexes for the query paths. Built CONCURRENTLY so writes keep flowing while they
+-- build, which also means this script runs outside a transaction (see the .sql.conf).
+-- A build that fails leaves an INVALID index behind; drop it before re-running.
+
+-- Tenant listings (ORDER BY id DESC), the tenant watermark and getBookingStats.
+-- The INCLUDE columns let the watermark and the stats aggregate run as index-only scans.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_user_id
+    ON bookings (user_id, id)
+    INCLUDE (status, total_price, check_in_date, check_out_date, created_at, updated_at);
+
+-- findOverlappingBookings: one property's date range, over bookings that can still be cancelled
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_overlap
+    ON bookings (property_id, check_in_date, check_out_date)
+    WHERE status NOT IN ('COMPLETED', 'CANCELLED');
+
+-- Owner listings through the property join, property/status listings and the property watermark
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_property_status
+    ON bookings (property_id, status, id);
+
+-- Admin listing, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_created_at
+    ON bookings (created_at DESC);
+
+-- Owner join: an owner's property ids without touching the heap
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_user_id
+    ON properties (user_id, id);
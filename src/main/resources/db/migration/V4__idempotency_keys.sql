@@ -0,0 +1,10 @@
+-- Booking requests already turned into bookings, keyed by Idempotency-Key (scoped to the
+-- user) or AMQP message id. Rows older than booking.idempotency.ttl are purged.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(128)                NOT NULL,
+    booking_id      BIGINT,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,8 @@
+-- Token buckets shared by all replicas when booking.rate-limit.cluster.enabled=true,
+-- one row per "<endpoint>:<userId>". Rows idle for a day are purged.
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key  VARCHAR(128)                NOT NULL,
+    tokens      DOUBLE PRECISION            NOT NULL,
+    refilled_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (bucket_key)
+);
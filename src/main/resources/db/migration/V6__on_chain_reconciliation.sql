@@ -0,0 +1,26 @@
+-- On-chain reconciliation (booking.reconciliation.enabled=true). A booking's payment
+-- transaction counts as verified once on_chain_receipts holds a row for its current
+-- on_chain_tx_hash; a booking whose hash changes becomes unverified again.
+-- The index is built CONCURRENTLY, so this script runs outside a transaction (see the .sql.conf).
+CREATE TABLE IF NOT EXISTS on_chain_receipts (
+    booking_id   BIGINT                      NOT NULL,
+    tx_hash      VARCHAR(255)                NOT NULL,
+    status       VARCHAR(16)                 NOT NULL,
+    block_number BIGINT                      NOT NULL,
+    checked_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (booking_id)
+);
+
+-- Where the reconciliation pass stopped, so the next run resumes there instead of rescanning
+CREATE TABLE IF NOT EXISTS reconciliation_checkpoints (
+    job             VARCHAR(64)                 NOT NULL,
+    last_booking_id BIGINT                      NOT NULL,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (job)
+);
+
+-- The reconciliation scan: bookings with a transaction hash, in id order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_on_chain_tx
+    ON bookings (id)
+    INCLUDE (on_chain_tx_hash)
+    WHERE on_chain_tx_hash IS NOT NULL;
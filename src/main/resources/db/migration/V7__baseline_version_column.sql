@@ -0,0 +1,8 @@
+-- V1 only creates tables that are missing, so on a database created by ddl-auto=update
+-- before the optimistic lock counter existed, bookings never got its version column.
+-- Every other V1 column matches what ddl-auto=update created from the entities.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Where ddl-auto=update did add it, make sure it has the default and no nulls
+UPDATE bookings SET version = 0 WHERE version IS NULL;
+ALTER TABLE bookings ALTER COLUMN version SET DEFAULT 0, ALTER COLUMN version SET NOT NULL;
@@ -0,0 +1,9 @@
+-- Outcome of a booking's payment transaction on the chain, set by the on-chain reconciliation
+-- (CONFIRMED or FAILED) and returned by the booking endpoints; null until the current
+-- on_chain_tx_hash has a final receipt.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS on_chain_status VARCHAR(16);
+
+-- Receipts recorded before the column existed
+UPDATE bookings b SET on_chain_status = r.status
+FROM on_chain_receipts r
+WHERE r.booking_id = b.id AND r.tx_hash = b.on_chain_tx_hash AND b.on_chain_status IS NULL;
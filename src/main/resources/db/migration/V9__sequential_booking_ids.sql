@@ -0,0 +1,10 @@
+-- Booking ids are taken one at a time again (allocationSize = 1): blocks of 50 per replica
+-- made ids leave creation order, which the newest-first listings and GET /booking-id rely on.
+-- nextval now continues right after the last id of the last block handed out. Replicas still
+-- running the pooled allocator must be stopped before this runs, or they would read the next
+-- value as the top of a new block and reuse ids.
+ALTER SEQUENCE bookings_id_seq INCREMENT BY 1;
+
+SELECT setval('bookings_id_seq', GREATEST(
+        (SELECT last_value FROM bookings_id_seq),
+        (SELECT COALESCE(MAX(id), 0) FROM bookings)));
@@ -0,0 +1,38 @@
+package ma.fstt.bookingservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RabbitMQConfigTest {
+
+    private final RabbitMQConfig config = new RabbitMQConfig();
+
+    @Test
+    void queuesSharedWithOtherServicesAreDeclaredWithoutArguments() {
+        assertThat(config.bookingCreatedQueue().getArguments()).isEmpty();
+        assertThat(config.reclamationQueue().getArguments()).isEmpty();
+        assertThat(config.bookingCreatedQueue().isDurable()).isTrue();
+        assertThat(config.reclamationQueue().isDurable()).isTrue();
+    }
+
+    @Test
+    void ownWorkQueuesDeadLetterUnderTheirOwnName() {
+        for (Queue queue : new Queue[] { config.bookingQueue(), config.negotiationQueue(), config.paymentQueue(),
+                config.disputeQueue() }) {
+            assertThat(queue.getArguments())
+                    .containsEntry("x-dead-letter-exchange", RabbitMQConfig.DEAD_LETTER_EXCHANGE)
+                    .containsEntry("x-dead-letter-routing-key", queue.getName());
+            assertThat(RabbitMQConfig.DEAD_LETTERED_QUEUES).contains(queue.getName());
+        }
+    }
+
+    @Test
+    void parkingLotsExistOnlyForOwnWorkQueues() {
+        assertThat(config.deadLetterTopology().getDeclarablesByType(Queue.class))
+                .extracting(Queue::getName)
+                .containsExactlyInAnyOrder("booking.dlq", "booking.negotiation.dlq", "booking.payment.dlq",
+                        "booking.dispute.dlq");
+    }
+}
@@ -0,0 +1,87 @@
+package ma.fstt.bookingservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.fstt.bookingservice.core.service.RateLimiter;
+import ma.fstt.bookingservice.exception.RateLimitExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitAspectTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private Endpoints endpoints;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("booking.rate-limit.update.capacity", "2")
+                .withProperty("booking.rate-limit.update.refill-per-minute", "1")
+                .withProperty("booking.rate-limit.reclamation.capacity", "2")
+                .withProperty("booking.rate-limit.reclamation.refill-per-minute", "1");
+        RateLimiter rateLimiter = new RateLimiter(environment, null, new SimpleMeterRegistry(), true, false,
+                Duration.ofMinutes(10));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Endpoints());
+        factory.addAspect(new RateLimitAspect(rateLimiter));
+        endpoints = factory.getProxy();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void limitsPerUserIdHeader() {
+        request.addHeader("X-User-Id", "7");
+        endpoints.update();
+        endpoints.update();
+
+        assertThatThrownBy(endpoints::update).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void keysOnTheUserParameterWhateverTheHeaderSays() {
+        endpoints.reclamation(7L);
+        request.addHeader("X-User-Id", "1");
+        endpoints.reclamation(7L);
+        request.removeHeader("X-User-Id");
+        request.addHeader("X-User-Id", "2");
+
+        assertThatThrownBy(() -> endpoints.reclamation(7L)).isInstanceOf(RateLimitExceededException.class);
+        assertThat(endpoints.reclamation(8L)).isEqualTo("8");
+    }
+
+    @Test
+    void headerlessRequestsShareOneBucket() {
+        endpoints.update();
+        endpoints.update();
+
+        assertThatThrownBy(endpoints::update).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    static class Endpoints {
+
+        @RateLimited("update")
+        public String update() {
+            return "ok";
+        }
+
+        @RateLimited(value = "reclamation", userParam = "userId")
+        public String reclamation(@RequestParam("userId") Long userId) {
+            return userId.toString();
+        }
+    }
+}
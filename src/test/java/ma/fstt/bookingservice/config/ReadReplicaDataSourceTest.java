@@ -0,0 +1,167 @@
+package ma.fstt.bookingservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.fstt.bookingservice.core.messaging.BookingChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing through the same {@link LazyConnectionDataSourceProxy} arrangement as
+ * {@link ReadReplicaRoutingConfig}, with in-memory H2 databases standing in for
+ * the primary and the replicas.
+ */
+class ReadReplicaDataSourceTest {
+
+    private static final String PRIMARY = "jdbc:h2:mem:rr-primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA = "jdbc:h2:mem:rr-replica;DB_CLOSE_DELAY=-1";
+    private static final String MISSING_REPLICA = "jdbc:h2:mem:rr-missing;IFEXISTS=TRUE";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+    private ReadReplicaDataSource replicas;
+    private TransactionTemplate transactions;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (replicas != null) {
+            replicas.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        route("SELECT 0", REPLICA);
+        replicas.checkLag();
+
+        assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-replica");
+        assertThat(urlIn(false)).startsWith("jdbc:h2:mem:rr-primary");
+        assertThat(routed("replica")).isEqualTo(1);
+    }
+
+    @Test
+    void readsOfAUserWhoJustWroteStayOnThePrimary() {
+        route("SELECT 0", REPLICA);
+        replicas.checkLag();
+        tracker.pin(BookingChangedEvent.of(1L, 7L, 11L, "p-1", "CONFIRMED", "PENDING_PAYMENT", false));
+
+        asUser("7");
+        assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-primary");
+        asUser("11");
+        assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-primary");
+        asUser("8");
+        assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-replica");
+        assertThat(routed("pinned")).isEqualTo(2);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        route("SELECT 5", REPLICA);
+        replicas.checkLag();
+
+        assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-primary");
+        assertThat(routed("fallback")).isEqualTo(1);
+        assertThat(registry.get("booking.read-replica.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        route("SELECT 0", MISSING_REPLICA);
+        replicas.checkLag();
+
+        assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-primary");
+        assertThat(routed("fallback")).isEqualTo(1);
+    }
+
+    @Test
+    void replicaFailingBetweenChecksFallsBackToThePrimary() {
+        route("SELECT 0", REPLICA);
+        replicas.checkLag();
+        replicas.close();
+
+        assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-primary");
+        assertThat(registry.get("booking.read-replica.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void unreachableReplicaIsSkippedWhileOthersServeReads() {
+        route("SELECT 0", MISSING_REPLICA, REPLICA);
+        replicas.checkLag();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-replica");
+        }
+        assertThat(routed("replica")).isEqualTo(4);
+    }
+
+    @Test
+    void noReplicaTakesTrafficBeforeItsFirstHealthCheck() {
+        route("SELECT 0", REPLICA);
+
+        assertThat(urlIn(true)).startsWith("jdbc:h2:mem:rr-primary");
+        assertThat(routed("fallback")).isEqualTo(1);
+    }
+
+    private void route(String lagQuery, String... replicaUrls) {
+        DataSource primary = new DriverManagerDataSource(PRIMARY, "sa", "");
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.length; i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(replicaUrls[i]);
+            pool.setUsername("sa");
+            pool.setPoolName("booking-replica-" + (i + 1));
+            pool.setConnectionTimeout(250);
+            pool.setReadOnly(true);
+            pools.add(pool);
+        }
+        replicas = new ReadReplicaDataSource(primary, pools, UnaryOperator.identity(), tracker, Duration.ofSeconds(2),
+                lagQuery, registry);
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(replicas);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(routing));
+    }
+
+    // URL of the database a transaction's first statement runs against
+    private String urlIn(boolean readOnly) {
+        DataSource routing = ((DataSourceTransactionManager) transactions.getTransactionManager()).getDataSource();
+        transactions.setReadOnly(readOnly);
+        return transactions.execute(status -> {
+            Connection connection = DataSourceUtils.getConnection(routing);
+            try {
+                connection.createStatement().execute("SELECT 1");
+                return connection.getMetaData().getURL();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void asUser(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private double routed(String route) {
+        return registry.get("booking.read-replica.connections").tag("route", route).counter().count();
+    }
+}
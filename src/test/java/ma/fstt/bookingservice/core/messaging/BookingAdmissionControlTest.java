@@ -0,0 +1,72 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingAdmissionControlTest {
+
+    private final BookingQueueMonitor queueMonitor = mock(BookingQueueMonitor.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void admitsWhileTheQueueIsWithinBothThresholds() {
+        backlog(1000, Duration.ofSeconds(30));
+
+        assertThat(control(true).shed(false)).isEmpty();
+        assertThat(control(true).shed(true)).isEmpty();
+    }
+
+    @Test
+    void shedsOnDepthWithTheConfiguredRetryAfter() {
+        backlog(10_001, Duration.ZERO);
+
+        assertThat(control(true).shed(false)).contains(Duration.ofSeconds(30));
+        assertThat(rejected("booking", "depth")).isEqualTo(1);
+    }
+
+    @Test
+    void shedsOnLag() {
+        backlog(10, Duration.ofMinutes(3));
+
+        assertThat(control(true).shed(false)).isPresent();
+        assertThat(rejected("booking", "lag")).isEqualTo(1);
+    }
+
+    @Test
+    void shedsNegotiationOffersBeforePlainBookings() {
+        backlog(6000, Duration.ofSeconds(90));
+        BookingAdmissionControl control = control(true);
+
+        assertThat(control.shed(false)).isEmpty();
+        assertThat(control.shed(true)).isPresent();
+        assertThat(rejected("negotiation", "depth")).isEqualTo(1);
+    }
+
+    @Test
+    void admitsEverythingWhenDisabled() {
+        backlog(1_000_000, Duration.ofHours(1));
+
+        assertThat(control(false).shed(false)).isEmpty();
+        assertThat(control(false).shed(true)).isEmpty();
+    }
+
+    private void backlog(long depth, Duration lag) {
+        when(queueMonitor.depth("booking")).thenReturn(depth);
+        when(queueMonitor.lag("booking")).thenReturn(lag);
+    }
+
+    private BookingAdmissionControl control(boolean enabled) {
+        return new BookingAdmissionControl(queueMonitor, registry, enabled, 10_000, Duration.ofMinutes(2), 5000,
+                Duration.ofMinutes(1), Duration.ofSeconds(30));
+    }
+
+    private double rejected(String kind, String reason) {
+        return registry.get("booking.admission.rejected").tag("kind", kind).tag("reason", reason).counter().count();
+    }
+}
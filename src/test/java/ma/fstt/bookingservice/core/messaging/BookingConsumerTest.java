@@ -0,0 +1,53 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import ma.fstt.bookingservice.api.dto.BookingRequest;
+import ma.fstt.bookingservice.core.service.BookingService;
+import ma.fstt.bookingservice.core.service.IdempotencyStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingConsumerTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final BookingPublisher publisher = mock(BookingPublisher.class);
+    private final BookingConsumer consumer = new BookingConsumer(bookingService, publisher,
+            mock(BookingQueueMonitor.class), mock(IdempotencyStore.class), mock(BookingMessageEncoder.class));
+
+    @Test
+    void fullPublishBufferFailsTheRequestBeforeAnythingIsCommitted() {
+        when(publisher.reserve()).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> consumer.handleBooking(request(), null, "1:key"))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(bookingService, never()).createBooking(any(), any());
+    }
+
+    @Test
+    void failedBookingHandsItsPublishSlotBack() {
+        BookingPublisher.Reservation reservation = mock(BookingPublisher.Reservation.class);
+        when(publisher.reserve()).thenReturn(Optional.of(reservation));
+        when(bookingService.createBooking(any(), any())).thenThrow(new IllegalStateException("property-service down"));
+
+        assertThatThrownBy(() -> consumer.handleBooking(request(), null, "1:key"))
+                .hasMessage("property-service down");
+
+        verify(reservation).close();
+        verify(reservation, never()).publish(any(), any());
+    }
+
+    private static BookingRequest request() {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(1L);
+        request.setPropertyId("p-1");
+        return request;
+    }
+}
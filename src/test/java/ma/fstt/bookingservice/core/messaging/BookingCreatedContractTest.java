@@ -0,0 +1,127 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.fstt.bookingservice.api.dto.BookingRequest;
+import ma.fstt.bookingservice.api.dto.PropertyInfo;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
+import ma.fstt.bookingservice.core.service.BookingService;
+import ma.fstt.bookingservice.core.service.BookingService.CreatedBooking;
+import ma.fstt.bookingservice.core.service.IdempotencyStore;
+import ma.fstt.bookingservice.domain.entity.Booking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * booking.created as the consumers in other services see it: the message the
+ * booking consumer publishes, decoded by a plain Jackson converter that only
+ * knows the wire format.
+ */
+class BookingCreatedContractTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private BookingPublisher publisher;
+    private BookingConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        BookingMessageEncoder encoder = new BookingMessageEncoder(new RabbitMQConfig().messageConverter(objectMapper),
+                new MockEnvironment().withProperty("booking.messaging.content-type.booking.created",
+                        MessageProperties.CONTENT_TYPE_JSON));
+        publisher = new BookingPublisher(rabbitTemplate, new SimpleMeterRegistry(), 10, 1, Duration.ofSeconds(10),
+                Duration.ofMillis(100), Duration.ofMillis(100));
+        consumer = new BookingConsumer(bookingService, publisher, mock(BookingQueueMonitor.class),
+                mock(IdempotencyStore.class), encoder);
+
+        Booking booking = Booking.builder().id(42L).userId(7L).propertyId("p-1")
+                .checkInDate(LocalDate.of(2026, 11, 1)).checkOutDate(LocalDate.of(2026, 11, 5))
+                .totalPrice(480.0).status("PENDING_PAYMENT").build();
+        PropertyInfo property = PropertyInfo.builder().id("p-1").ownerId(11L)
+                .pricePerNight(new BigDecimal("120.00")).depositAmount(new BigDecimal("150.00")).build();
+        when(bookingService.createBooking(any(), any())).thenReturn(new CreatedBooking(booking, property));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        publisher.shutdown();
+    }
+
+    @Test
+    void publishesVersionedBookingCreatedThatAMapConsumerDecodes() {
+        Message published = publishBookingCreated();
+
+        assertThat(published.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(published.getMessageProperties().<Object>getHeader(BookingCreatedMessage.SCHEMA_VERSION_HEADER))
+                .isEqualTo(BookingCreatedMessage.SCHEMA_VERSION);
+        assertThat(published.getMessageProperties().getHeaders())
+                .containsEntry("__TypeId__", "java.util.HashMap")
+                .containsEntry("__KeyTypeId__", "java.lang.Object")
+                .containsEntry("__ContentTypeId__", "java.lang.Object");
+
+        // Existing consumers resolve __TypeId__ and read the body as a map
+        Object decoded = new Jackson2JsonMessageConverter().fromMessage(published);
+        assertThat(decoded).isInstanceOf(Map.class);
+        Map<?, ?> body = (Map<?, ?>) decoded;
+        assertThat(body.get("schemaVersion")).isEqualTo(BookingCreatedMessage.SCHEMA_VERSION);
+        assertThat(body.get("bookingId")).isEqualTo(42);
+        assertThat(body.get("tenantId")).isEqualTo(7);
+        assertThat(body.get("propertyId")).isEqualTo("p-1");
+        assertThat(body.get("status")).isEqualTo("PENDING_PAYMENT");
+        assertThat(body.get("ownerId")).isEqualTo(11);
+        assertThat(new BigDecimal(body.get("depositAmount").toString())).isEqualByComparingTo("150.00");
+        assertThat(new BigDecimal(body.get("finalRentAmount").toString())).isEqualByComparingTo("480.0");
+    }
+
+    @Test
+    void bookingCreatedDecodesIntoAConsumerOwnType() {
+        Message published = publishBookingCreated();
+
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        converter.setAlwaysConvertToInferredType(true);
+        published.getMessageProperties().setInferredArgumentType(StubBookingCreated.class);
+        StubBookingCreated decoded = (StubBookingCreated) converter.fromMessage(published);
+
+        assertThat(decoded.schemaVersion()).isEqualTo(BookingCreatedMessage.SCHEMA_VERSION);
+        assertThat(decoded.bookingId()).isEqualTo(42L);
+        assertThat(decoded.ownerId()).isEqualTo(11L);
+        assertThat(decoded.depositAmount()).isEqualByComparingTo("150.00");
+    }
+
+    private Message publishBookingCreated() {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(7L);
+        request.setPropertyId("p-1");
+        consumer.handleBooking(request, null, "request-1");
+
+        ArgumentCaptor<Message> published = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, timeout(2000)).send(eq(""), eq("booking.created"), published.capture());
+        return published.getValue();
+    }
+
+    // What a consumer that has picked up schema version 2 declares on its side
+    record StubBookingCreated(Long bookingId, Long tenantId, String propertyId, BigDecimal finalRentAmount,
+            String status, Long ownerId, BigDecimal depositAmount, int schemaVersion) {
+    }
+}
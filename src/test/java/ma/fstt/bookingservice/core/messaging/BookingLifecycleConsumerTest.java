@@ -0,0 +1,83 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ma.fstt.bookingservice.core.service.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingLifecycleConsumerTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final BookingPublisher publisher = mock(BookingPublisher.class);
+    private final BookingMessageEncoder messageEncoder = mock(BookingMessageEncoder.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BookingLifecycleConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        when(publisher.publish(anyString(), any())).thenReturn(true);
+        when(messageEncoder.encode(anyString(), any())).thenReturn(new Message(new byte[0], new MessageProperties()));
+        consumer = new BookingLifecycleConsumer(bookingService, mock(BookingQueueMonitor.class), publisher,
+                messageEncoder, registry);
+    }
+
+    @Test
+    void confirmsValidBookingsAndParksUnknownAndNullIds() {
+        when(bookingService.confirmPayments(anyMap())).thenReturn(Set.of(99L));
+
+        consumer.handlePaymentConfirmations(List.of(
+                confirmation(1L, "0xaa"),
+                confirmation(99L, "0xbb"),
+                confirmation(null, "0xcc"),
+                confirmation(2L, "0xdd")));
+
+        verify(bookingService).confirmPayments(Map.of(1L, "0xaa", 99L, "0xbb", 2L, "0xdd"));
+        ArgumentCaptor<Object> parked = ArgumentCaptor.forClass(Object.class);
+        verify(messageEncoder, times(2)).encode(eq("booking.payment"), parked.capture());
+        assertThat(parked.getAllValues()).extracting(value -> ((PaymentConfirmationMessage) value).bookingId())
+                .containsExactlyInAnyOrder(99L, null);
+        verify(publisher, times(2)).publish(eq("booking.payment.dlq"), any());
+        assertThat(registry.get("booking.messaging.dead-lettered").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void batchOfOnlyNullIdsIsParkedWithoutCallingTheService() {
+        consumer.handlePaymentConfirmations(List.of(confirmation(null, "0xaa"), confirmation(null, "0xbb")));
+
+        verify(bookingService, never()).confirmPayments(anyMap());
+        verify(publisher, times(2)).publish(eq("booking.payment.dlq"), any());
+    }
+
+    @Test
+    void fullyConfirmedBatchParksNothing() {
+        when(bookingService.confirmPayments(anyMap())).thenReturn(Set.of());
+
+        consumer.handlePaymentConfirmations(List.of(confirmation(1L, "0xaa"), confirmation(2L, "0xbb")));
+
+        verify(publisher, never()).publish(anyString(), any());
+    }
+
+    private static org.springframework.messaging.Message<PaymentConfirmationMessage> confirmation(Long bookingId,
+            String txHash) {
+        return MessageBuilder.withPayload(new PaymentConfirmationMessage(bookingId, txHash)).build();
+    }
+}
@@ -0,0 +1,53 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ma.fstt.bookingservice.api.dto.BookingRequest;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingMessageEncoderTest {
+
+    private final MessageConverter converter = new RabbitMQConfig().messageConverter(new ObjectMapper());
+
+    @Test
+    void encodesJsonUnlessTheQueueOptsIntoCbor() {
+        BookingMessageEncoder encoder = new BookingMessageEncoder(converter, new MockEnvironment());
+
+        Message message = encoder.encode(RabbitMQConfig.BOOKING_QUEUE, request());
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(new String(message.getBody())).contains("\"propertyId\":\"p-1\"");
+    }
+
+    @Test
+    void encodesCborWhenConfiguredAndDecodesBack() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("booking.messaging.content-type.booking", "application/cbor");
+        BookingMessageEncoder encoder = new BookingMessageEncoder(converter, environment);
+
+        Message message = encoder.encode(RabbitMQConfig.BOOKING_QUEUE, request());
+        message.getMessageProperties().setInferredArgumentType(BookingRequest.class);
+
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo("application/cbor");
+        assertThat(converter.fromMessage(message)).isInstanceOfSatisfying(BookingRequest.class,
+                decoded -> assertThat(decoded.getPropertyId()).isEqualTo("p-1"));
+    }
+
+    private static BookingRequest request() {
+        BookingRequest request = new BookingRequest();
+        request.setUserId(1L);
+        request.setPropertyId("p-1");
+        request.setCheckInDate("2026-11-01");
+        request.setCheckOutDate("2026-11-05");
+        request.setRequestedPrice(new BigDecimal("120.00"));
+        return request;
+    }
+}
@@ -0,0 +1,214 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingPublisherTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private BookingPublisher publisher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        publisher.shutdown();
+    }
+
+    @Test
+    void ackedMessageIsSentOnce() {
+        publisher = withConfirms(5, Duration.ofSeconds(10));
+
+        assertThat(publisher.publish("booking", message("m1"))).isTrue();
+        CorrelationData correlation = sentCorrelations(1).get(0);
+        correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+
+        assertThat(registry.get("booking.publisher.confirm").timer().count()).isEqualTo(1);
+        assertThat(registry.get("booking.publisher.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void nackedMessageIsSentAgain() {
+        publisher = withConfirms(5, Duration.ofSeconds(10));
+
+        publisher.publish("booking", message("m1"));
+        sentCorrelations(1).get(0).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+
+        sentCorrelations(2);
+        assertThat(retried("nack")).isEqualTo(1);
+    }
+
+    @Test
+    void unconfirmedMessageIsSentAgainAfterTheConfirmTimeout() throws InterruptedException {
+        publisher = withConfirms(5, Duration.ofMillis(50));
+
+        publisher.publish("booking", message("m1"));
+        sentCorrelations(1);
+        Thread.sleep(100);
+        publisher.expireUnconfirmed();
+
+        List<CorrelationData> sent = sentCorrelations(2);
+        assertThat(retried("timeout")).isEqualTo(1);
+        // A late confirm for the timed-out send changes nothing
+        sent.get(0).getFuture().complete(new CorrelationData.Confirm(true, null));
+        assertThat(registry.find("booking.publisher.confirm").timer()).isNull();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        publisher = withConfirms(2, Duration.ofSeconds(10));
+
+        publisher.publish("booking", message("m1"));
+        sentCorrelations(1).get(0).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+        sentCorrelations(2).get(1).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+
+        assertThat(dropped("gave-up")).isEqualTo(1);
+    }
+
+    @Test
+    void holdsOnToTheMessageWhileTheBrokerIsDown() {
+        publisher = new BookingPublisher(rabbitTemplate, registry, 10, 5, Duration.ofSeconds(10),
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+                .doNothing()
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+
+        publisher.publish("booking", message("m1"));
+
+        verify(rabbitTemplate, timeout(2000).times(2)).send(eq(""), eq("booking"), any(Message.class));
+        assertThat(retried("broker-down")).isEqualTo(1);
+    }
+
+    @Test
+    void fullBufferTurnsAwayPublishesAndReservations() throws InterruptedException {
+        CountDownLatch brokerStuck = new CountDownLatch(1);
+        CountDownLatch senderBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            senderBusy.countDown();
+            brokerStuck.await();
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+        publisher = new BookingPublisher(rabbitTemplate, registry, 2, 5, Duration.ofSeconds(10),
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        // The sender holds the first message, the next two fill the buffer
+        publisher.publish("booking", message("m1"));
+        assertThat(senderBusy.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(publisher.publish("booking", message("m2"))).isTrue();
+        BookingPublisher.Reservation reservation = publisher.reserve().orElseThrow();
+
+        assertThat(publisher.publish("booking", message("m3"))).isFalse();
+        assertThat(publisher.reserve()).isEmpty();
+        assertThat(dropped("buffer-full")).isEqualTo(1);
+
+        reservation.close();
+        assertThat(publisher.reserve()).isPresent();
+        brokerStuck.countDown();
+    }
+
+    @Test
+    void reservedSlotIsUsedOnce() {
+        publisher = new BookingPublisher(rabbitTemplate, registry, 1, 5, Duration.ofSeconds(10),
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        try (BookingPublisher.Reservation reservation = publisher.reserve().orElseThrow()) {
+            reservation.publish("booking.created", message("m1"));
+            assertThatThrownBy(() -> reservation.publish("booking.created", message("m2")))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        // The slot frees up once the sender has taken the message off the buffer
+        verify(rabbitTemplate, timeout(2000)).send(eq(""), eq("booking.created"), any(Message.class));
+        assertThat(publisher.reserve()).isPresent();
+    }
+
+    @Test
+    void broadcastGoesToTheFanoutExchange() {
+        publisher = new BookingPublisher(rabbitTemplate, registry, 10, 5, Duration.ofSeconds(10),
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        assertThat(publisher.broadcast("booking.events", message("e1"))).isTrue();
+
+        verify(rabbitTemplate, timeout(2000)).send(eq("booking.events"), eq(""), any(Message.class));
+    }
+
+    @Test
+    void broadcastsLeaveHalfTheBufferToWorkMessages() throws InterruptedException {
+        CountDownLatch brokerStuck = new CountDownLatch(1);
+        CountDownLatch senderBusy = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            senderBusy.countDown();
+            brokerStuck.await();
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+        publisher = new BookingPublisher(rabbitTemplate, registry, 4, 5, Duration.ofSeconds(10),
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        // The sender holds the first broadcast, the next two take half the buffer
+        publisher.broadcast("booking.events", message("e1"));
+        assertThat(senderBusy.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(publisher.broadcast("booking.events", message("e2"))).isTrue();
+        assertThat(publisher.broadcast("booking.events", message("e3"))).isTrue();
+
+        assertThat(publisher.broadcast("booking.events", message("e4"))).isFalse();
+        assertThat(publisher.publish("booking", message("m1"))).isTrue();
+        assertThat(publisher.publish("booking", message("m2"))).isTrue();
+        assertThat(dropped("buffer-full")).isEqualTo(1);
+        brokerStuck.countDown();
+    }
+
+    private BookingPublisher withConfirms(int maxAttempts, Duration confirmTimeout) {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        return new BookingPublisher(rabbitTemplate, registry, 10, maxAttempts, confirmTimeout,
+                Duration.ofMillis(100), Duration.ofMillis(100));
+    }
+
+    private List<CorrelationData> sentCorrelations(int sends) {
+        ArgumentCaptor<CorrelationData> correlations = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate, timeout(2000).times(sends))
+                .send(eq(""), eq("booking"), any(Message.class), correlations.capture());
+        return correlations.getAllValues();
+    }
+
+    private double retried(String reason) {
+        return registry.get("booking.publisher.retried").tag("reason", reason).counter().count();
+    }
+
+    private double dropped(String reason) {
+        return registry.get("booking.publisher.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static Message message(String id) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(id);
+        return new Message(id.getBytes(), properties);
+    }
+}
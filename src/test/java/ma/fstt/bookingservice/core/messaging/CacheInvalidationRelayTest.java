@@ -0,0 +1,145 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import jakarta.persistence.EntityManagerFactory;
+import ma.fstt.bookingservice.config.RabbitMQConfig;
+import ma.fstt.bookingservice.domain.entity.Booking;
+import ma.fstt.bookingservice.domain.entity.Property;
+import ma.fstt.bookingservice.domain.repository.BookingRepository;
+import ma.fstt.bookingservice.domain.repository.PropertyRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Invalidations go out after commit, so the tests run their own transactions
+@DataJpaTest
+@Import(CacheInvalidationRelay.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheInvalidationRelayTest {
+
+    @MockitoBean
+    private BookingPublisher publisher;
+
+    @MockitoBean
+    private BookingMessageEncoder messageEncoder;
+
+    @Autowired
+    private CacheInvalidationRelay relay;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        when(messageEncoder.encode(anyString(), any()))
+                .thenAnswer(invocation -> new Message(new byte[0], new MessageProperties()));
+        when(publisher.broadcast(anyString(), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch();
+        propertyRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void broadcastsTheChangesOfACommitAsOneMessage() {
+        List<Booking> bookings = bookingRepository.saveAll(List.of(booking(), booking(), booking()));
+        clearInvocations(publisher, messageEncoder);
+
+        transactions.executeWithoutResult(status -> {
+            bookingRepository.findAllById(ids(bookings)).forEach(booking -> booking.setStatus("CONFIRMED"));
+            bookingRepository.flush();
+            bookingRepository.deleteById(bookings.get(2).getId());
+        });
+
+        ArgumentCaptor<CacheInvalidation> invalidation = ArgumentCaptor.forClass(CacheInvalidation.class);
+        verify(messageEncoder).encode(eq(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE), invalidation.capture());
+        assertThat(invalidation.getValue().ids()).containsOnlyKeys(Booking.class.getName());
+        assertThat(invalidation.getValue().ids().get(Booking.class.getName()))
+                .containsExactlyInAnyOrderElementsOf(ids(bookings).stream().map(String::valueOf).toList());
+        verify(publisher).broadcast(eq(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE), any(Message.class));
+    }
+
+    @Test
+    void rolledBackChangesAreNotBroadcast() {
+        Booking booking = bookingRepository.save(booking());
+        clearInvocations(publisher, messageEncoder);
+
+        transactions.executeWithoutResult(status -> {
+            bookingRepository.findById(booking.getId()).orElseThrow().setStatus("CANCELLED");
+            bookingRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        verify(publisher, never()).broadcast(anyString(), any());
+    }
+
+    @Test
+    void onlyPropertyInvalidationsEvictTheQueryCache() {
+        String propertyId = propertyRepository.save(Property.builder().ownerId(7L).price(100.0).build()).getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        propertyRepository.findOwnerIdById(propertyId);
+
+        relay.onInvalidation(new CacheInvalidation(Map.of(Booking.class.getName(), List.of("1"))), "other-replica");
+        long hits = statistics.getQueryCacheHitCount();
+        propertyRepository.findOwnerIdById(propertyId);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
+
+        relay.onInvalidation(new CacheInvalidation(Map.of(Property.class.getName(), List.of(propertyId))),
+                "other-replica");
+        long misses = statistics.getQueryCacheMissCount();
+        propertyRepository.findOwnerIdById(propertyId);
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(misses + 1);
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).toList();
+    }
+
+    private static Booking booking() {
+        return Booking.builder()
+                .userId(1L)
+                .propertyId("p1")
+                .checkInDate(LocalDate.of(2030, 6, 1))
+                .checkOutDate(LocalDate.of(2030, 6, 5))
+                .totalPrice(500.0)
+                .status("PENDING_PAYMENT")
+                .build();
+    }
+}
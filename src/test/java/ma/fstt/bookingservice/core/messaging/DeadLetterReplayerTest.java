@@ -0,0 +1,83 @@
+package ma.fstt.bookingservice.core.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadLetterReplayerTest {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final Channel channel = mock(Channel.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DeadLetterReplayer replayer = new DeadLetterReplayer(rabbitTemplate, registry);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(replayer, "confirmTimeout", Duration.ofSeconds(5));
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation -> {
+            try {
+                return invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel);
+            } catch (Exception e) {
+                throw RabbitExceptionTranslator.convertRabbitAccessException(e);
+            }
+        });
+    }
+
+    @Test
+    void acksEachParkedMessageOnceItsCopyIsConfirmed() throws Exception {
+        when(channel.basicGet("booking.dlq", false)).thenReturn(parked(1), parked(2), null);
+
+        assertThat(replayer.replay("booking", 10)).isEqualTo(2);
+
+        InOrder order = inOrder(channel);
+        order.verify(channel).confirmSelect();
+        for (long tag = 1; tag <= 2; tag++) {
+            order.verify(channel).basicPublish(eq(""), eq("booking"), any(AMQP.BasicProperties.class), any());
+            order.verify(channel).waitForConfirmsOrDie(5000);
+            order.verify(channel).basicAck(tag, false);
+        }
+        assertThat(registry.get("booking.messaging.replayed").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void unconfirmedCopyLeavesTheMessageParked() throws Exception {
+        when(channel.basicGet("booking.dlq", false)).thenReturn(parked(1), parked(2));
+        doThrow(new IOException("nack")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        assertThatThrownBy(() -> replayer.replay("booking", 10)).isInstanceOf(AmqpException.class);
+
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        assertThat(registry.get("booking.messaging.replayed").counter().count()).isZero();
+    }
+
+    private static GetResponse parked(long deliveryTag) {
+        Envelope envelope = new Envelope(deliveryTag, false, "", "booking.dlq");
+        return new GetResponse(envelope, new AMQP.BasicProperties(), new byte[0], 0);
+    }
+}
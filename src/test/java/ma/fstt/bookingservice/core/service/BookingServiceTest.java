@@ -0,0 +1,111 @@
+package ma.fstt.bookingservice.core.service;
+
+import ma.fstt.bookingservice.domain.entity.Booking;
+import ma.fstt.bookingservice.domain.entity.Property;
+import ma.fstt.bookingservice.domain.repository.BookingRepository;
+import ma.fstt.bookingservice.domain.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BookingServiceTest {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2030, 6, 1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private BookingService service;
+    private String propertyId;
+
+    @BeforeEach
+    void setUp() {
+        service = new BookingService(bookingRepository, propertyRepository, mock(ApplicationEventPublisher.class),
+                mock(RestTemplate.class), mock(EnrichmentFanOut.class), mock(IdempotencyStore.class));
+        propertyId = propertyRepository.save(Property.builder().ownerId(7L).price(100.0).build()).getId();
+    }
+
+    @Test
+    void paymentOverlappingABookingConfirmedInAnEarlierBatchIsRejected() {
+        Booking earlier = booking(1L, JUNE_1, JUNE_1.plusDays(5), "PENDING_PAYMENT");
+        assertThat(service.confirmPayments(Map.of(earlier.getId(), "0xearlier"))).isEmpty();
+        entityManager.flush();
+        entityManager.clear();
+        // Still awaiting payment once the earlier booking is confirmed, e.g. booked on a stale availability read
+        Booking later = booking(2L, JUNE_1.plusDays(3), JUNE_1.plusDays(8), "PENDING_PAYMENT");
+
+        Set<Long> rejected = service.confirmPayments(Map.of(later.getId(), "0xlater"));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(rejected).containsExactly(later.getId());
+        assertThat(bookingRepository.findById(later.getId())).isEmpty();
+        Booking kept = bookingRepository.findById(earlier.getId()).orElseThrow();
+        assertThat(kept.getStatus()).isEqualTo("CONFIRMED");
+        assertThat(kept.getOnChainTxHash()).isEqualTo("0xearlier");
+    }
+
+    @Test
+    void earlierPaymentInTheSameBatchWins() {
+        Booking first = booking(1L, JUNE_1, JUNE_1.plusDays(5), "PENDING_PAYMENT");
+        Booking second = booking(2L, JUNE_1.plusDays(3), JUNE_1.plusDays(8), "PENDING_PAYMENT");
+        Map<Long, String> batch = new LinkedHashMap<>();
+        batch.put(first.getId(), "0xfirst");
+        batch.put(second.getId(), "0xsecond");
+
+        Set<Long> rejected = service.confirmPayments(batch);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(rejected).containsExactly(second.getId());
+        assertThat(bookingRepository.findById(first.getId()).orElseThrow().getStatus()).isEqualTo("CONFIRMED");
+        assertThat(bookingRepository.findById(second.getId())).isEmpty();
+    }
+
+    @Test
+    void confirmationRemovesOverlappingUnpaidBookingsOnly() {
+        Booking paid = booking(1L, JUNE_1, JUNE_1.plusDays(5), "PENDING_PAYMENT");
+        Booking unpaid = booking(2L, JUNE_1.plusDays(4), JUNE_1.plusDays(6), "PENDING_NEGOTIATION");
+        Booking elsewhere = booking(3L, JUNE_1.plusDays(10), JUNE_1.plusDays(12), "CONFIRMED");
+
+        assertThat(service.confirmPayments(Map.of(paid.getId(), "0xpaid"))).isEmpty();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(bookingRepository.findById(paid.getId()).orElseThrow().getStatus()).isEqualTo("CONFIRMED");
+        assertThat(bookingRepository.findById(unpaid.getId())).isEmpty();
+        assertThat(bookingRepository.findById(elsewhere.getId())).isPresent();
+    }
+
+    private Booking booking(Long userId, LocalDate checkIn, LocalDate checkOut, String status) {
+        return bookingRepository.save(Booking.builder()
+                .userId(userId)
+                .propertyId(propertyId)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .totalPrice(500.0)
+                .status(status)
+                .build());
+    }
+}
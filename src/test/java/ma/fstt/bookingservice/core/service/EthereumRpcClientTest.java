@@ -0,0 +1,60 @@
+package ma.fstt.bookingservice.core.service;
+
+import ma.fstt.bookingservice.core.service.EthereumRpcClient.Receipt;
+import ma.fstt.bookingservice.core.service.EthereumRpcClient.ReceiptBatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class EthereumRpcClientTest {
+
+    private static final String RPC_URL = "http://localhost:8545";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final EthereumRpcClient client = new EthereumRpcClient(restTemplate, RPC_URL);
+
+    @Test
+    void readsReceiptsFromABatchAnsweredInAnyOrder() {
+        respond("""
+                [
+                  {"jsonrpc": "2.0", "id": 3, "result": null},
+                  {"jsonrpc": "2.0", "id": 2, "result": {"status": "0x0", "blockNumber": "0x64"}},
+                  {"jsonrpc": "2.0", "id": 0, "result": "0xc8"},
+                  {"jsonrpc": "2.0", "id": 1, "result": {"status": "0x1", "blockNumber": "0x63"}},
+                  {"jsonrpc": "2.0", "id": 4, "error": {"code": -32000, "message": "boom"}}
+                ]""");
+
+        ReceiptBatch batch = client.getTransactionReceipts(List.of("0xok", "0xreverted", "0xpending", "0xerror"));
+
+        assertThat(batch.latestBlock()).isEqualTo(200);
+        assertThat(batch.receipts()).containsOnlyKeys("0xok", "0xreverted");
+        assertThat(batch.receipts().get("0xok")).isEqualTo(new Receipt(true, 99));
+        assertThat(batch.receipts().get("0xreverted")).isEqualTo(new Receipt(false, 100));
+    }
+
+    @Test
+    void receiptWithoutStatusIsUnknownRatherThanFailed() {
+        respond("""
+                [
+                  {"jsonrpc": "2.0", "id": 0, "result": "0xc8"},
+                  {"jsonrpc": "2.0", "id": 1, "result": {"root": "0xabc", "blockNumber": "0x64"}},
+                  {"jsonrpc": "2.0", "id": 2, "result": {"status": "0x1", "blockNumber": null}}
+                ]""");
+
+        ReceiptBatch batch = client.getTransactionReceipts(List.of("0xprebyzantium", "0xnoblock"));
+
+        assertThat(batch.receipts()).isEmpty();
+    }
+
+    private void respond(String body) {
+        server.expect(requestTo(RPC_URL)).andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+    }
+}
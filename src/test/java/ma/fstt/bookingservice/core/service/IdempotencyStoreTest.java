@@ -0,0 +1,101 @@
+package ma.fstt.bookingservice.core.service;
+
+import ma.fstt.bookingservice.domain.entity.IdempotencyKey;
+import ma.fstt.bookingservice.domain.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Claims only count once committed, so the tests run their own transactions
+@DataJpaTest
+@Import(IdempotencyStore.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private IdempotencyKeyRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @AfterEach
+    void tearDown() {
+        // deleteAll() skips entities that report isNew(), which every IdempotencyKey does
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void acceptsAKeyOnceUntilReleased() {
+        assertThat(store.accept("1:double-click")).isTrue();
+        assertThat(store.accept("1:double-click")).isFalse();
+
+        store.release("1:double-click");
+
+        assertThat(store.accept("1:double-click")).isTrue();
+    }
+
+    @Test
+    void committedClaimMarksTheKeyProcessed() {
+        transactions.executeWithoutResult(status -> store.claim("1:committed"));
+
+        assertThat(store.isProcessed("1:committed")).isTrue();
+        assertThat(repository.existsById("1:committed")).isTrue();
+        assertThat(store.accept("1:committed")).isFalse();
+    }
+
+    @Test
+    void rolledBackClaimLeavesTheKeyFree() {
+        transactions.executeWithoutResult(status -> {
+            store.claim("1:rolled-back");
+            status.setRollbackOnly();
+        });
+
+        assertThat(store.isProcessed("1:rolled-back")).isFalse();
+        assertThat(store.accept("1:rolled-back")).isTrue();
+    }
+
+    @Test
+    void secondClaimOfTheSameKeyFails() {
+        transactions.executeWithoutResult(status -> store.claim("1:duplicate"));
+
+        assertThatThrownBy(() -> transactions.executeWithoutResult(status -> store.claim("1:duplicate")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void keyProcessedOnAnotherReplicaIsFoundInTheTable() {
+        repository.save(IdempotencyKey.builder().idempotencyKey("1:elsewhere").bookingId(5L)
+                .createdAt(Instant.now()).build());
+
+        assertThat(store.isProcessed("1:elsewhere")).isTrue();
+        assertThat(store.accept("1:elsewhere")).isFalse();
+    }
+
+    @Test
+    void purgeDropsKeysOlderThanTheTtl() {
+        repository.save(IdempotencyKey.builder().idempotencyKey("1:old")
+                .createdAt(Instant.now().minus(Duration.ofDays(2))).build());
+        repository.save(IdempotencyKey.builder().idempotencyKey("1:recent").createdAt(Instant.now()).build());
+
+        store.purgeExpired();
+
+        assertThat(repository.findAll()).extracting(IdempotencyKey::getIdempotencyKey).containsExactly("1:recent");
+    }
+}
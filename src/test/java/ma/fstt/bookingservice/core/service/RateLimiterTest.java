@@ -0,0 +1,76 @@
+package ma.fstt.bookingservice.core.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void admitsABurstUpToCapacityThenAsksToWaitForTheNextToken() {
+        RateLimiter limiter = limiter(3, 60);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("request", "1")).isEmpty();
+        }
+        Optional<Duration> wait = limiter.tryAcquire("request", "1");
+
+        assertThat(wait).hasValueSatisfying(retryAfter -> assertThat(retryAfter)
+                .isPositive()
+                .isLessThanOrEqualTo(Duration.ofSeconds(1)));
+        assertThat(registry.get("booking.rate-limit.rejected").tag("scope", "local").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void usersAndEndpointsHaveSeparateBuckets() {
+        RateLimiter limiter = limiter(1, 1);
+
+        assertThat(limiter.tryAcquire("request", "1")).isEmpty();
+        assertThat(limiter.tryAcquire("request", "1")).isPresent();
+        assertThat(limiter.tryAcquire("request", "2")).isEmpty();
+        assertThat(limiter.tryAcquire("update", "1")).isEmpty();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        RateLimiter limiter = limiter(1, 6000);
+
+        assertThat(limiter.tryAcquire("request", "1")).isEmpty();
+        assertThat(limiter.tryAcquire("request", "1")).isPresent();
+        Thread.sleep(30);
+
+        assertThat(limiter.tryAcquire("request", "1")).isEmpty();
+    }
+
+    @Test
+    void admitsEverythingWhenDisabled() {
+        RateLimiter limiter = new RateLimiter(environment(1, 1), null, registry, false, false, Duration.ofMinutes(10));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("request", "1")).isEmpty();
+        }
+    }
+
+    private RateLimiter limiter(int capacity, int refillPerMinute) {
+        return new RateLimiter(environment(capacity, refillPerMinute), null, registry, true, false,
+                Duration.ofMinutes(10));
+    }
+
+    private static MockEnvironment environment(int capacity, int refillPerMinute) {
+        MockEnvironment environment = new MockEnvironment();
+        for (String endpoint : new String[] { "request", "update" }) {
+            environment.setProperty("booking.rate-limit." + endpoint + ".capacity", String.valueOf(capacity));
+            environment.setProperty("booking.rate-limit." + endpoint + ".refill-per-minute",
+                    String.valueOf(refillPerMinute));
+        }
+        return environment;
+    }
+}